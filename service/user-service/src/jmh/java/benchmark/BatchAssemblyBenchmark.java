@@ -0,0 +1,168 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import store.BatchingUserRepository;
+import store.NewUser;
+import store.UserPatch;
+import store.UserRepository;
+import store.entity.User;
+
+/**
+ * Cost of gathering {@code lookups} id lookups on one event loop into a single {@code findAllById}
+ * and fanning the results back out, against an in-memory store so only the batching is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchAssemblyBenchmark {
+  @Param({"1", "16", "100"})
+  public int lookups;
+
+  private Vertx vertx;
+  private Context context;
+  private BatchingUserRepository repository;
+  private UUID[] ids;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final var users = Users.users(lookups);
+
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+    repository =
+        new BatchingUserRepository(
+            new InMemoryUserRepository(users), 100, 0, new SimpleMeterRegistry());
+    ids = new UUID[lookups];
+
+    for (var i = 0; i < lookups; i++) {
+      ids[i] = UUID.fromString(users[i].id());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public List<User> findById() {
+    final var done = new CompletableFuture<List<User>>();
+
+    context.runOnContext(
+        _ -> {
+          final var pending = new ArrayList<Future<User>>(ids.length);
+
+          for (final var id : ids) {
+            pending.add(repository.findById(id));
+          }
+
+          Future.all(pending)
+              .map(all -> all.<User>list())
+              .onComplete(done::complete, done::completeExceptionally);
+        });
+
+    return done.join();
+  }
+
+  /** Users kept in a map. The benchmark only reaches the id lookups; everything else refuses. */
+  private static final class InMemoryUserRepository implements UserRepository {
+    private final Map<UUID, User> users;
+
+    InMemoryUserRepository(@Nonnull final User[] users) {
+      this.users =
+          Arrays.stream(users)
+              .collect(Collectors.toMap(user -> UUID.fromString(user.id()), Function.identity()));
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> findById(@Nonnull final UUID id) {
+      return Future.succeededFuture(users.get(id));
+    }
+
+    @Nonnull
+    @Override
+    public Future<List<User>> findAllById(@Nonnull final Collection<UUID> ids) {
+      return Future.succeededFuture(ids.stream().map(users::get).filter(Objects::nonNull).toList());
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> findByIdForUpdate(@Nonnull final UUID id) {
+      return unsupported();
+    }
+
+    @Nonnull
+    @Override
+    public Future<List<User>> findPage(@Nullable final User after, final int limit) {
+      return unsupported();
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> findByEmail(@Nonnull final String email) {
+      return unsupported();
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> insert(@Nonnull final String email, @Nonnull final String createdBy) {
+      return unsupported();
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> updateIfVersion(
+        @Nonnull final UUID id,
+        final int version,
+        @Nonnull final UserPatch patch,
+        @Nonnull final String modifiedBy) {
+      return unsupported();
+    }
+
+    @Nonnull
+    @Override
+    public Future<Long> insertAll(@Nonnull final List<NewUser> newUsers) {
+      return unsupported();
+    }
+
+    @Nonnull
+    @Override
+    public Future<Boolean> delete(@Nonnull final UUID id) {
+      return unsupported();
+    }
+
+    @Nonnull
+    private static <T> Future<T> unsupported() {
+      return Future.failedFuture(new UnsupportedOperationException("Not used by the benchmark"));
+    }
+  }
+}
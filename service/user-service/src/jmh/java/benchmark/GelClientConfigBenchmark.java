@@ -0,0 +1,33 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.geldata.driver.GelClientConfig;
+import io.vertx.core.json.JsonObject;
+import module.GelClientConfigModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/** Building the client configuration from a fully populated environment. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GelClientConfigBenchmark {
+  private final JsonObject config =
+      new JsonObject()
+          .put("GEL_POOL_SIZE", 50)
+          .put("GEL_RETRY_MODE", "ALWAYS_RETRY")
+          .put("GEL_MAX_CONNECTION_RETRIES", 5)
+          .put("GEL_MESSAGE_TIMEOUT", 15_000L)
+          .put("GEL_CLIENT_AVAILABILITY", 10)
+          .put("GEL_CLIENT_MAX_AGE", "1970-01-01T00:10:00Z");
+
+  @Benchmark
+  public GelClientConfig parse() {
+    return GelClientConfigModule.writeClientConfigProvider(config);
+  }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.json.JsonObject;
+import json.UserJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import store.cache.UserCache;
+import store.entity.User;
+
+/** Lookups and puts against a warm {@link UserCache}, from several threads at once. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class UserCacheBenchmark {
+  @Param({"10000", "100000"})
+  public int size;
+
+  private UserCache cache;
+  private User[] users;
+
+  @Setup
+  public void setUp() {
+    cache =
+        new UserCache(
+            new JsonObject().put("cache.users.maximum-size", size),
+            new SimpleMeterRegistry(),
+            new UserJsonWriter());
+    users = Users.users(size);
+
+    for (final var user : users) {
+      cache.put(user);
+    }
+  }
+
+  @Benchmark
+  public User getById() {
+    return cache.getById(random().id());
+  }
+
+  @Benchmark
+  public User getByEmail() {
+    return cache.getByEmail(random().email());
+  }
+
+  @Benchmark
+  public byte[] encoded() {
+    return cache.encoded(random());
+  }
+
+  /**
+   * Re-puts the cached version: encodes it, replaces the entry and re-indexes its email, since a
+   * put wins whenever its version is at least the cached one.
+   */
+  @Benchmark
+  public void put() {
+    cache.put(random());
+  }
+
+  private User random() {
+    return users[ThreadLocalRandom.current().nextInt(users.length)];
+  }
+}
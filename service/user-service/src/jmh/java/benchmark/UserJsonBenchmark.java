@@ -0,0 +1,33 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.buffer.Buffer;
+import json.UserJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import store.entity.User;
+
+/** Encoding a {@link User} for a response body. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserJsonBenchmark {
+  private final UserJsonWriter writer = new UserJsonWriter();
+  private User user;
+
+  @Setup
+  public void setUp() {
+    user = Users.user(1);
+  }
+
+  @Benchmark
+  public Buffer encode() {
+    return writer.encode(user);
+  }
+}
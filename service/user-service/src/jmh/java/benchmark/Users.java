@@ -0,0 +1,39 @@
+package benchmark;
+
+import java.util.Date;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+
+import lombok.NoArgsConstructor;
+import store.entity.User;
+
+/** Fixture users shared by the benchmarks. */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+final class Users {
+  @Nonnull
+  static User user(final int index) {
+    final var now = new Date();
+
+    return User.builder()
+        .id(new UUID(0, index).toString())
+        .email("user-" + index + "@example.com")
+        .created(now)
+        .lastModified(now)
+        .createdBy("benchmark")
+        .lastModifiedBy("benchmark")
+        .version(1)
+        .build();
+  }
+
+  @Nonnull
+  static User[] users(final int count) {
+    final var users = new User[count];
+
+    for (var i = 0; i < count; i++) {
+      users[i] = user(i);
+    }
+
+    return users;
+  }
+}
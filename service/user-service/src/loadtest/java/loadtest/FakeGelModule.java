@@ -0,0 +1,50 @@
+package loadtest;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import com.geldata.driver.GelClientConfig;
+import dagger.Module;
+import dagger.Provides;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lifecycle.Closeables;
+import module.GelQueryClientModule;
+import store.GelQueryClient;
+import store.GelRole;
+
+/**
+ * Stands in for {@code GelQueryClientModule}, answering both pools from one {@link
+ * FakeGelQueryClient} behind the same adaptive pool limits.
+ */
+@Module
+public class FakeGelModule {
+  @Provides
+  @Singleton
+  @Named("read")
+  public static GelQueryClient readGelQueryClientProvider(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final MeterRegistry registry,
+      @Named("read") final GelClientConfig gelClientConfig,
+      final FakeGelQueryClient client) {
+    return GelQueryClientModule.adaptive(
+        GelRole.READ, client, gelClientConfig, config, vertx, registry);
+  }
+
+  @Provides
+  @Singleton
+  @Named("write")
+  public static GelQueryClient writeGelQueryClientProvider(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final MeterRegistry registry,
+      @Named("write") final GelClientConfig gelClientConfig,
+      final FakeGelQueryClient client,
+      final Closeables closeables) {
+    closeables.register("fake Gel client", client);
+    return GelQueryClientModule.adaptive(
+        GelRole.WRITE, client, gelClientConfig, config, vertx, registry);
+  }
+}
@@ -0,0 +1,345 @@
+package loadtest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import com.geldata.driver.GelClientConfig;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import store.GelQueryClient;
+import store.QueryShape;
+import store.QueryShapes;
+import store.entity.User;
+
+/**
+ * In-process stand-in for the Gel client pool. Users live in memory, and each statement is answered
+ * by shape after an injected delay of {@code latency-millis} plus an exponentially distributed
+ * {@code jitter-millis}; a fraction {@code error-rate} of queries fail instead. At most {@code
+ * GEL_POOL_SIZE} queries run at once and the rest queue, as they would for connections.
+ */
+@Slf4j
+@Singleton
+public class FakeGelQueryClient implements GelQueryClient {
+  private final long latencyNanos;
+  private final double jitterNanos;
+  private final double errorRate;
+  private final int poolSize;
+  private final Map<UUID, User> byId = new ConcurrentHashMap<>();
+  private final Map<String, UUID> idByEmail = new ConcurrentHashMap<>();
+  private final Queue<Runnable> waiting = new ArrayDeque<>();
+  private final Map<QueryShape<?>, Function<Map<String, Object>, Object>> handlers =
+      Map.ofEntries(
+          Map.entry(QueryShapes.SELECT_BY_ID, args -> byId.get((UUID) args.get("id"))),
+          Map.entry(QueryShapes.SELECT_BY_ID_FOR_UPDATE, args -> byId.get((UUID) args.get("id"))),
+          Map.entry(
+              QueryShapes.SELECT_BY_IDS,
+              args ->
+                  Arrays.stream((UUID[]) args.get("ids"))
+                      .map(byId::get)
+                      .filter(Objects::nonNull)
+                      .toList()),
+          Map.entry(QueryShapes.SELECT_BY_EMAIL, args -> findByEmail((String) args.get("email"))),
+          Map.entry(
+              QueryShapes.INSERT,
+              args -> store((String) args.get("email"), (String) args.get("created_by"))),
+          Map.entry(QueryShapes.UPDATE_IF_VERSION, this::update),
+          Map.entry(QueryShapes.SELECT_FIRST_PAGE, this::page),
+          Map.entry(QueryShapes.SELECT_PAGE_AFTER, this::page),
+          Map.entry(QueryShapes.SELECT_EMAILS_AFTER, this::emails),
+          Map.entry(QueryShapes.INSERT_ALL, this::insertAll),
+          Map.entry(QueryShapes.DELETE, args -> delete((UUID) args.get("id"))));
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> Thread.ofPlatform().daemon().name("fake-gel").unstarted(runnable));
+
+  private int running;
+
+  @Inject
+  public FakeGelQueryClient(
+      @Named("envConfig") final JsonObject config,
+      @Named("read") final GelClientConfig readConfig,
+      @Named("write") final GelClientConfig writeConfig) {
+    this.latencyNanos =
+        TimeUnit.MICROSECONDS.toNanos(
+            (long) (1000 * config.getDouble("loadtest.gel.latency-millis", 2.0)));
+    this.jitterNanos = 1_000_000 * config.getDouble("loadtest.gel.jitter-millis", 1.0);
+    this.errorRate = config.getDouble("loadtest.gel.error-rate", 0.0);
+    this.poolSize = readConfig.getPoolSize() + writeConfig.getPoolSize();
+
+    log.info(
+        "Fake Gel: {} ms + exp({} ms), error rate {}, {} connections",
+        latencyNanos / 1e6,
+        jitterNanos / 1e6,
+        errorRate,
+        poolSize);
+  }
+
+  /** Inserts {@code count} users directly, without delay, and returns them. */
+  @Nonnull
+  public List<User> seed(final int count) {
+    final var seeded = new ArrayList<User>(count);
+
+    for (var i = 0; i < count; i++) {
+      seeded.add(store("seed-" + i + "@example.com", "loadtest"));
+    }
+
+    return seeded;
+  }
+
+  @Nonnull
+  @Override
+  public <T> CompletionStage<List<T>> query(
+      @Nonnull final Class<T> type,
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args) {
+    return submit(query, args);
+  }
+
+  @Nonnull
+  @Override
+  public <T> CompletionStage<T> querySingle(
+      @Nonnull final Class<T> type,
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args) {
+    return submit(query, args);
+  }
+
+  @Nonnull
+  @Override
+  public <T> CompletionStage<T> queryRequiredSingle(
+      @Nonnull final Class<T> type,
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args) {
+    return submit(query, args);
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<Void> execute(
+      @Nonnull final String query, @Nonnull final Map<String, Object> args) {
+    return submit(query, args).thenApply(_ -> null);
+  }
+
+  /** Queries currently being answered, each standing for a connection in use. */
+  @Override
+  public synchronized int connectionCount() {
+    return running;
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  @Nonnull
+  private <T> CompletionStage<T> submit(
+      @Nonnull final String query, @Nonnull final Map<String, Object> args) {
+    final var result = new CompletableFuture<T>();
+    final Runnable start =
+        () ->
+            scheduler.schedule(() -> complete(query, args, result), delay(), TimeUnit.NANOSECONDS);
+
+    synchronized (this) {
+      if (running < poolSize) {
+        running++;
+      } else {
+        waiting.add(start);
+        return result;
+      }
+    }
+
+    start.run();
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> void complete(
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args,
+      @Nonnull final CompletableFuture<T> result) {
+    try {
+      if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+        result.completeExceptionally(new IllegalStateException("Injected Gel failure"));
+      } else {
+        result.complete((T) answer(query, args));
+      }
+    } catch (final RuntimeException exception) {
+      result.completeExceptionally(exception);
+    } finally {
+      release();
+    }
+  }
+
+  private void release() {
+    final Runnable next;
+
+    synchronized (this) {
+      next = waiting.poll();
+
+      if (next == null) {
+        running--;
+        return;
+      }
+    }
+
+    next.run();
+  }
+
+  private long delay() {
+    final var jitter = -jitterNanos * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+    return latencyNanos + (long) jitter;
+  }
+
+  @Nullable
+  private Object answer(@Nonnull final String query, @Nonnull final Map<String, Object> args) {
+    final var handler = handlers.get(QueryShapes.of(query));
+
+    // Health-check pings and anything else not modelled
+    return handler == null ? 1L : handler.apply(args);
+  }
+
+  @Nullable
+  private User findByEmail(@Nonnull final String email) {
+    final var id = idByEmail.get(email);
+    return id == null ? null : byId.get(id);
+  }
+
+  @Nonnull
+  private Long insertAll(@Nonnull final Map<String, Object> args) {
+    final var emails = (String[]) args.get("emails");
+    final var createdBy = (String[]) args.get("created_by");
+
+    for (var i = 0; i < emails.length; i++) {
+      store(emails[i], createdBy[i]);
+    }
+
+    return (long) emails.length;
+  }
+
+  @Nonnull
+  private Boolean delete(@Nonnull final UUID id) {
+    final var removed = byId.remove(id);
+
+    if (removed != null) {
+      idByEmail.remove(removed.email(), id);
+    }
+
+    return removed != null;
+  }
+
+  @Nonnull
+  private User store(@Nonnull final String email, @Nonnull final String createdBy) {
+    final var id = UUID.randomUUID();
+    final var now = new Date();
+    final var user =
+        User.builder()
+            .id(id.toString())
+            .email(email)
+            .created(now)
+            .lastModified(now)
+            .createdBy(createdBy)
+            .lastModifiedBy(createdBy)
+            .version(1)
+            .build();
+
+    byId.put(id, user);
+    idByEmail.put(email, id);
+    return user;
+  }
+
+  @Nullable
+  private User update(@Nonnull final Map<String, Object> args) {
+    final var id = (UUID) args.get("id");
+    final var version = ((Number) args.get("version")).intValue();
+    final var email = (String) args.get("email");
+    final var modifiedBy = (String) args.get("last_modified_by");
+    final var updated = new User[1];
+
+    byId.computeIfPresent(
+        id,
+        (_, current) -> {
+          if (current.version() != version) {
+            return current;
+          }
+
+          updated[0] =
+              User.builder()
+                  .id(current.id())
+                  .email(email == null ? current.email() : email)
+                  .created(current.created())
+                  .lastModified(new Date())
+                  .createdBy(current.createdBy())
+                  .lastModifiedBy(modifiedBy)
+                  .version(version + 1)
+                  .build();
+          return updated[0];
+        });
+
+    if (updated[0] != null && email != null) {
+      idByEmail.put(email, id);
+    }
+
+    return updated[0];
+  }
+
+  @Nonnull
+  private List<String> emails(@Nonnull final Map<String, Object> args) {
+    final var after = (String) args.get("after");
+
+    return idByEmail.keySet().stream()
+        .filter(email -> email.compareTo(after) > 0)
+        .sorted()
+        .limit(((Number) args.get("limit")).longValue())
+        .toList();
+  }
+
+  @Nonnull
+  private List<User> page(@Nonnull final Map<String, Object> args) {
+    final var limit = ((Number) args.get("limit")).intValue();
+    final var after = (UUID) args.get("id");
+    final var cursor = after == null ? null : byId.get(after);
+    final var created =
+        cursor == null
+            ? (OffsetDateTime) args.get("created")
+            : cursor.created().toInstant().atOffset(ZoneOffset.UTC);
+    final Comparator<User> order = Comparator.comparing(User::created).thenComparing(User::id);
+
+    return byId.values().stream()
+        .filter(
+            user -> {
+              if (created == null) {
+                return true;
+              }
+
+              final var cmp = user.created().toInstant().compareTo(created.toInstant());
+              return cmp > 0 || cmp == 0 && user.id().compareTo(after.toString()) > 0;
+            })
+        .sorted(order)
+        .limit(limit)
+        .toList();
+  }
+}
@@ -0,0 +1,35 @@
+package loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import javax.annotation.Nonnull;
+
+import lombok.NoArgsConstructor;
+
+/** HTTP clients for the load harnesses, shaped like the callers the service sees in production. */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+final class LoadClients {
+  private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+
+  /**
+   * A client speaking HTTP/1.1, with at most {@code connections} kept alive. Left to itself the JDK
+   * client negotiates HTTP/2 and multiplexes every worker over one connection, so the server's
+   * per-connection limits and event-loop spread would differ from real traffic; over HTTP/1.1 each
+   * closed-loop worker holds one connection, and the idle pool is bounded to the worker count.
+   *
+   * <p>The JDK reads the pool size once, when its first client is built, so this must be called
+   * before any other {@link HttpClient} is created.
+   */
+  @Nonnull
+  static HttpClient http1(final int connections) {
+    if (System.getProperty(POOL_SIZE_PROPERTY) == null) {
+      System.setProperty(POOL_SIZE_PROPERTY, Integer.toString(connections));
+    }
+
+    return HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+  }
+}
@@ -0,0 +1,142 @@
+package loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ramps concurrent lookups against a running user-service and samples the saturation series meant
+ * for autoscaling once a second, so the signal can be watched rising with load before CPU does.
+ *
+ * <p>Configured through {@code -Ploadtest.*} properties: {@code target}, {@code metrics}, {@code
+ * steps} (comma-separated concurrency levels) and {@code step-seconds}.
+ */
+@Slf4j
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class LoadSignalHarness {
+  private static final String USERS_PATH = "/api/v1/users/";
+
+  public static void main(@Nonnull final String[] args) throws Exception {
+    final var target = System.getProperty("loadtest.target", "http://localhost:8080");
+    final var metrics =
+        URI.create(System.getProperty("loadtest.metrics", "http://localhost:9090/metrics"));
+    final var steps =
+        Arrays.stream(System.getProperty("loadtest.steps", "1,8,32,128,256").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    final var stepSeconds = Integer.getInteger("loadtest.step-seconds", 15);
+    // One connection per worker at the highest step, and one for the metrics scrape
+    final var client = LoadClients.http1(Arrays.stream(steps).max().orElse(1) + 1);
+
+    log.info(
+        "{} | {} | {} | {} | {} | {} | {}",
+        "concurrency",
+        "req/s",
+        "errors",
+        "in-flight",
+        "loop util (max)",
+        "gel pending",
+        "gel in use");
+
+    for (final var concurrency : steps) {
+      runStep(client, target, metrics, concurrency, stepSeconds);
+    }
+  }
+
+  private static void runStep(
+      @Nonnull final HttpClient client,
+      @Nonnull final String target,
+      @Nonnull final URI metrics,
+      final int concurrency,
+      final int stepSeconds)
+      throws Exception {
+    final var running = new AtomicBoolean(true);
+    final var completed = new AtomicLong();
+    final var errors = new AtomicLong();
+
+    try (final var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var i = 0; i < concurrency; i++) {
+        workers.submit(
+            () -> {
+              while (running.get()) {
+                // Unknown ids still cost a Gel round trip, which is the load being measured
+                final var request =
+                    HttpRequest.newBuilder(URI.create(target + USERS_PATH + UUID.randomUUID()))
+                        .timeout(Duration.ofSeconds(10))
+                        .build();
+
+                try {
+                  final var status =
+                      client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+
+                  if (status >= 500) {
+                    errors.incrementAndGet();
+                  }
+                } catch (final Exception exception) {
+                  errors.incrementAndGet();
+                }
+
+                completed.incrementAndGet();
+              }
+              return null;
+            });
+      }
+
+      for (var second = 0; second < stepSeconds; second++) {
+        final var before = completed.get();
+        final var errorsBefore = errors.get();
+
+        Thread.sleep(Duration.ofSeconds(1));
+
+        final var scrape = PrometheusText.parse(scrape(client, metrics));
+
+        log.info(
+            "{} | {} | {} | {} | {} | {} | {}",
+            concurrency,
+            completed.get() - before,
+            errors.get() - errorsBefore,
+            format(scrape, "http_server_requests_in_flight", false),
+            format(scrape, "vertx_event_loop_utilization", true),
+            format(scrape, "gel_pool_pending", false),
+            format(scrape, "gel_pool_in_use", false));
+      }
+
+      running.set(false);
+    }
+  }
+
+  @Nonnull
+  private static String scrape(@Nonnull final HttpClient client, @Nonnull final URI metrics)
+      throws Exception {
+    return client
+        .send(HttpRequest.newBuilder(metrics).build(), HttpResponse.BodyHandlers.ofString())
+        .body();
+  }
+
+  @Nonnull
+  private static String format(
+      @Nonnull final Map<String, double[]> scrape, @Nonnull final String name, final boolean max) {
+    final var values = scrape.get(name);
+
+    if (values == null) {
+      return "-";
+    }
+
+    final var value = max ? Arrays.stream(values).max().orElse(0) : Arrays.stream(values).sum();
+    return "%.2f".formatted(value);
+  }
+}
@@ -0,0 +1,399 @@
+package loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import http.EmailCheckHandler;
+import http.HttpRouterVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import store.entity.User;
+
+/**
+ * Runs the HTTP routes in-process against {@link FakeGelQueryClient} and drives them with a fixed
+ * number of closed-loop clients, then reports throughput, errors and p50/p99/p999 latency per
+ * operation. Results only depend on the service and the injected Gel behaviour, not on a live
+ * database, so runs are comparable across changes.
+ *
+ * <p>Configured through {@code -Ploadtest.*} properties: {@code concurrency}, {@code
+ * warmup-seconds}, {@code duration-seconds}, {@code seed-users}, {@code mix} (weights per operation
+ * among {@code get}, {@code email}, {@code check}, {@code create} and {@code update}, e.g. {@code
+ * get=70,email=10,create=10,update=10}) and the {@code gel.*} settings of the fake. Any other
+ * service setting can be overridden as {@code loadtest.config.<key>}.
+ */
+@Slf4j
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class LoadTest {
+  private static final String CONFIG_PREFIX = "loadtest.config.";
+  private static final int DEFAULT_PORT = 18080;
+
+  public static void main(@Nonnull final String[] args) throws Exception {
+    final var config = config();
+    final var concurrency = Integer.getInteger("loadtest.concurrency", 64);
+    final var warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 5));
+    final var duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+    final var mix =
+        Mix.parse(System.getProperty("loadtest.mix", "get=70,email=10,create=10,update=10"));
+
+    final var client = LoadClients.http1(concurrency);
+    final var vertx = Vertx.vertx();
+    final var component = DaggerLoadTestComponent.factory().create(vertx, config);
+    final var users = component.gel().seed(Integer.getInteger("loadtest.seed-users", 10_000));
+
+    try {
+      vertx
+          .deployVerticle(
+              component.httpRouterVerticle()::get,
+              new DeploymentOptions().setInstances(config.getInteger("server.instances")))
+          .await(30, TimeUnit.SECONDS);
+
+      final var target = "http://localhost:" + config.getInteger("server.port");
+
+      log.info(
+          "Driving {} with {} clients, mix {}, {} warm-up then {}",
+          target,
+          concurrency,
+          mix,
+          warmup,
+          duration);
+
+      run(client, target, users, mix, concurrency, warmup);
+      final var results = run(client, target, users, mix, concurrency, duration);
+
+      report(results, duration);
+    } finally {
+      component.gracefulShutdown().run().await(1, TimeUnit.MINUTES);
+    }
+  }
+
+  @Nonnull
+  private static JsonObject config() {
+    final var config =
+        new JsonObject()
+            .put("server.port", DEFAULT_PORT)
+            .put("server.host", "127.0.0.1")
+            .put("server.instances", Runtime.getRuntime().availableProcessors())
+            .put("cache.invalidation.transport", "LOCAL")
+            .put("shutdown.readiness-delay-millis", 0);
+
+    System.getProperties()
+        .stringPropertyNames()
+        .forEach(
+            name -> {
+              if (name.startsWith(CONFIG_PREFIX)) {
+                config.put(name.substring(CONFIG_PREFIX.length()), System.getProperty(name));
+              } else if (name.startsWith("loadtest.gel.")) {
+                config.put(name, System.getProperty(name));
+              }
+            });
+
+    // Properties arrive as strings; let numeric and boolean settings read as such
+    config.fieldNames().forEach(key -> config.put(key, typed(config.getValue(key))));
+
+    return config;
+  }
+
+  @Nonnull
+  private static Object typed(@Nonnull final Object value) {
+    if (!(value instanceof String text)) {
+      return value;
+    }
+
+    if (text.equals("true") || text.equals("false")) {
+      return Boolean.parseBoolean(text);
+    }
+
+    try {
+      return text.contains(".") ? Double.parseDouble(text) : Long.parseLong(text);
+    } catch (final NumberFormatException exception) {
+      return text;
+    }
+  }
+
+  @Nonnull
+  private static Map<Operation, Recorder> run(
+      @Nonnull final HttpClient client,
+      @Nonnull final String target,
+      @Nonnull final List<User> users,
+      @Nonnull final Mix mix,
+      final int concurrency,
+      @Nonnull final Duration duration)
+      throws Exception {
+    final var deadline = System.nanoTime() + duration.toNanos();
+    final var workers = new ArrayList<Future<Map<Operation, Recorder>>>();
+
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var i = 0; i < concurrency; i++) {
+        workers.add(
+            executor.submit(
+                () -> {
+                  final var recorders = new EnumMap<Operation, Recorder>(Operation.class);
+
+                  while (System.nanoTime() < deadline) {
+                    final var operation = mix.next();
+                    final var request = operation.request(target, users);
+                    final var start = System.nanoTime();
+                    int status;
+
+                    try {
+                      status =
+                          client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (final Exception exception) {
+                      status = 0;
+                    }
+
+                    recorders
+                        .computeIfAbsent(operation, _ -> new Recorder())
+                        .record(System.nanoTime() - start, status);
+                  }
+
+                  return recorders;
+                }));
+      }
+    }
+
+    final var merged = new EnumMap<Operation, Recorder>(Operation.class);
+
+    for (final var worker : workers) {
+      worker
+          .get()
+          .forEach((operation, recorder) -> merged.merge(operation, recorder, Recorder::merge));
+    }
+
+    return merged;
+  }
+
+  private static void report(
+      @Nonnull final Map<Operation, Recorder> results, @Nonnull final Duration duration) {
+    final var seconds = (double) duration.toSeconds();
+    final var total = new Recorder();
+
+    log.info(
+        "{} | {} | {} | {} | {} | {} | {}",
+        "operation",
+        "requests",
+        "req/s",
+        "errors",
+        "shed",
+        "p50 ms",
+        "p99 ms / p999 ms");
+
+    results.forEach(
+        (operation, recorder) -> {
+          log(operation.name().toLowerCase(), recorder, seconds);
+          total.merge(recorder);
+        });
+    log("total", total, seconds);
+  }
+
+  private static void log(
+      @Nonnull final String label, @Nonnull final Recorder recorder, final double seconds) {
+    log.info(
+        "{} | {} | {} | {} | {} | {} | {} / {}",
+        label,
+        recorder.count,
+        "%.0f".formatted(recorder.count / seconds),
+        recorder.errors,
+        recorder.shed,
+        millis(recorder.percentile(0.5)),
+        millis(recorder.percentile(0.99)),
+        millis(recorder.percentile(0.999)));
+  }
+
+  @Nonnull
+  private static String millis(final long nanos) {
+    return "%.2f".formatted(nanos / 1e6);
+  }
+
+  private enum Operation {
+    GET {
+      @Nonnull
+      @Override
+      HttpRequest request(@Nonnull final String target, @Nonnull final List<User> users) {
+        return HttpRequest.newBuilder(URI.create(target + USERS + "/" + pick(users).id())).build();
+      }
+    },
+    EMAIL {
+      @Nonnull
+      @Override
+      HttpRequest request(@Nonnull final String target, @Nonnull final List<User> users) {
+        final var email = URLEncoder.encode(pick(users).email(), StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(URI.create(target + USERS + "?email=" + email)).build();
+      }
+    },
+    /** Signup checks, mostly for emails nobody has, as they are in production. */
+    CHECK {
+      @Nonnull
+      @Override
+      HttpRequest request(@Nonnull final String target, @Nonnull final List<User> users) {
+        final var email =
+            ThreadLocalRandom.current().nextInt(10) == 0
+                ? pick(users).email()
+                : UUID.randomUUID() + "@example.com";
+        final var encoded = URLEncoder.encode(email, StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(
+                URI.create(target + EmailCheckHandler.CHECK_EMAIL_PATH + "?email=" + encoded))
+            .build();
+      }
+    },
+    CREATE {
+      @Nonnull
+      @Override
+      HttpRequest request(@Nonnull final String target, @Nonnull final List<User> users) {
+        final var body =
+            new JsonObject()
+                .put("email", UUID.randomUUID() + "@example.com")
+                .put("createdBy", "loadtest");
+        return json(HttpRequest.newBuilder(URI.create(target + USERS)), "POST", body);
+      }
+    },
+    UPDATE {
+      @Nonnull
+      @Override
+      HttpRequest request(@Nonnull final String target, @Nonnull final List<User> users) {
+        final var body = new JsonObject().put("lastModifiedBy", "loadtest");
+        return json(
+            HttpRequest.newBuilder(URI.create(target + USERS + "/" + pick(users).id())),
+            "PATCH",
+            body);
+      }
+    };
+
+    private static final String USERS = HttpRouterVerticle.USERS_PATH;
+
+    @Nonnull
+    abstract HttpRequest request(@Nonnull String target, @Nonnull List<User> users);
+
+    @Nonnull
+    private static User pick(@Nonnull final List<User> users) {
+      return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    @Nonnull
+    private static HttpRequest json(
+        @Nonnull final HttpRequest.Builder builder,
+        @Nonnull final String method,
+        @Nonnull final JsonObject body) {
+      return builder
+          .header("Content-Type", "application/json")
+          .method(method, HttpRequest.BodyPublishers.ofString(body.encode()))
+          .build();
+    }
+  }
+
+  /** Weighted choice between operations. */
+  private record Mix(@Nonnull Operation[] operations, @Nonnull int[] cumulative) {
+    @Nonnull
+    static Mix parse(@Nonnull final String spec) {
+      final var operations = new ArrayList<Operation>();
+      final var cumulative = new ArrayList<Integer>();
+      var sum = 0;
+
+      for (final var entry : spec.split(",")) {
+        final var parts = entry.trim().split("=");
+        final var weight = Integer.parseInt(parts[1].trim());
+
+        if (weight > 0) {
+          sum += weight;
+          operations.add(Operation.valueOf(parts[0].trim().toUpperCase()));
+          cumulative.add(sum);
+        }
+      }
+
+      if (operations.isEmpty()) {
+        throw new IllegalArgumentException("Mix has no operations: " + spec);
+      }
+
+      return new Mix(
+          operations.toArray(Operation[]::new),
+          cumulative.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Nonnull
+    Operation next() {
+      final var roll = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+      var i = 0;
+
+      while (cumulative[i] <= roll) {
+        i++;
+      }
+
+      return operations[i];
+    }
+
+    @Override
+    public String toString() {
+      final var parts = new ArrayList<String>();
+      var previous = 0;
+
+      for (var i = 0; i < operations.length; i++) {
+        parts.add(operations[i].name().toLowerCase() + "=" + (cumulative[i] - previous));
+        previous = cumulative[i];
+      }
+
+      return String.join(",", parts);
+    }
+  }
+
+  /** Latencies of one worker, kept exactly so the tail percentiles are not approximated. */
+  private static final class Recorder {
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private long shed;
+
+    void record(final long nanos, final int status) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+
+      latencies[count++] = nanos;
+
+      if (status == 503) {
+        shed++;
+      } else if (status == 0 || status >= 500) {
+        errors++;
+      }
+    }
+
+    @Nonnull
+    Recorder merge(@Nonnull final Recorder other) {
+      latencies = Arrays.copyOf(latencies, count + other.count);
+      System.arraycopy(other.latencies, 0, latencies, count, other.count);
+      count += other.count;
+      errors += other.errors;
+      shed += other.shed;
+      return this;
+    }
+
+    long percentile(final double quantile) {
+      if (count == 0) {
+        return 0;
+      }
+
+      final var sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      return sorted[Math.min(count - 1, (int) Math.ceil(quantile * count) - 1)];
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package loadtest;
+
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import dagger.BindsInstance;
+import dagger.Component;
+import http.HttpRouterVerticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lifecycle.GracefulShutdown;
+import module.GelClientConfigModule;
+import module.InvalidationModule;
+import module.MetricsModule;
+import module.UserRepositoryModule;
+
+/** The application graph with the Gel pools swapped for {@link FakeGelQueryClient}. */
+@Singleton
+@Component(
+    modules = {
+      GelClientConfigModule.class,
+      FakeGelModule.class,
+      UserRepositoryModule.class,
+      MetricsModule.class,
+      InvalidationModule.class
+    })
+public interface LoadTestComponent {
+  Provider<HttpRouterVerticle> httpRouterVerticle();
+
+  FakeGelQueryClient gel();
+
+  GracefulShutdown gracefulShutdown();
+
+  @Component.Factory
+  interface Factory {
+    LoadTestComponent create(
+        @BindsInstance Vertx vertx, @BindsInstance @Named("envConfig") JsonObject envConfig);
+  }
+}
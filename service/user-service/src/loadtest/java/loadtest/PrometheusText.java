@@ -0,0 +1,40 @@
+package loadtest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import lombok.NoArgsConstructor;
+
+/** Minimal reader for the Prometheus text exposition format: every sample value, by metric name. */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+final class PrometheusText {
+  @Nonnull
+  static Map<String, double[]> parse(@Nonnull final String text) {
+    final var samples = new HashMap<String, double[]>();
+
+    for (final var line : text.split("\n")) {
+      if (line.isBlank() || line.startsWith("#")) {
+        continue;
+      }
+
+      final var labels = line.indexOf('{');
+      final var space = line.lastIndexOf(' ');
+      final var name = line.substring(0, labels >= 0 ? labels : line.indexOf(' '));
+      final var value = Double.parseDouble(line.substring(space + 1));
+
+      samples.merge(
+          name,
+          new double[] {value},
+          (existing, added) -> {
+            final var merged = Arrays.copyOf(existing, existing.length + 1);
+            merged[existing.length] = added[0];
+            return merged;
+          });
+    }
+
+    return samples;
+  }
+}
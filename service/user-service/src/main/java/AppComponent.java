@@ -1,14 +1,48 @@
+import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 
-import module.EnvConfigModule;
+import dagger.BindsInstance;
+import dagger.Component;
+import http.HttpRouterVerticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lifecycle.GracefulShutdown;
+import metrics.MetricsVerticle;
 import module.GelClientConfigModule;
+import module.GelClientPoolModule;
 import module.GelConnectionModule;
-import dagger.Component;
+import module.GelQueryClientModule;
+import module.InvalidationModule;
+import module.MetricsModule;
+import module.UserRepositoryModule;
 
 @Singleton
-@Component(modules = {
-  EnvConfigModule.class,
-  GelConnectionModule.class,
-  GelClientConfigModule.class
-})
-public interface AppComponent {}
+@Component(
+    modules = {
+      GelConnectionModule.class,
+      GelClientConfigModule.class,
+      GelClientPoolModule.class,
+      GelQueryClientModule.class,
+      UserRepositoryModule.class,
+      MetricsModule.class,
+      InvalidationModule.class
+    })
+public interface AppComponent {
+  Vertx vertx();
+
+  @Named("envConfig")
+  JsonObject envConfig();
+
+  Provider<HttpRouterVerticle> httpRouterVerticle();
+
+  Provider<MetricsVerticle> metricsVerticle();
+
+  GracefulShutdown gracefulShutdown();
+
+  @Component.Factory
+  interface Factory {
+    AppComponent create(
+        @BindsInstance Vertx vertx, @BindsInstance @Named("envConfig") JsonObject envConfig);
+  }
+}
@@ -0,0 +1,43 @@
+import javax.annotation.Nonnull;
+
+import io.vertx.config.ConfigRetriever;
+import io.vertx.config.ConfigRetrieverOptions;
+import io.vertx.config.ConfigStoreOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the application configuration on the shared {@link Vertx} instance as the first step of
+ * startup, before the component graph is built.
+ */
+@Slf4j
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+final class ConfigLoader {
+  @Nonnull
+  static Future<JsonObject> load(@Nonnull final Vertx vertx) {
+    // Environment variables override the mounted config.properties
+    final var fileStore =
+        new ConfigStoreOptions()
+            .setType("file")
+            .setFormat("properties")
+            .setOptional(true)
+            .setConfig(new JsonObject().put("path", configPath()));
+    final var envStore = new ConfigStoreOptions().setType("env").setFormat("properties");
+    final var options = new ConfigRetrieverOptions().addStore(fileStore).addStore(envStore);
+    final var retriever = ConfigRetriever.create(vertx, options);
+
+    return retriever
+        .getConfig()
+        .onSuccess(_ -> log.info("Configuration loaded successfully"))
+        .eventually(retriever::close);
+  }
+
+  @Nonnull
+  private static String configPath() {
+    final var path = System.getenv("VERTX_CONFIG_PATH");
+    return path == null || path.isBlank() ? "config.properties" : path;
+  }
+}
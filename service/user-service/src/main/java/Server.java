@@ -1,20 +1,77 @@
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import javax.annotation.Nonnull;
 
+import codec.MessageCodecs;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 public final class Server {
-  public static synchronized void main(@Nonnull final String[] args) throws InterruptedException {
+  public static synchronized void main(@Nonnull final String[] args) {
     log.info("Initializing application configuration...");
-    final var component = DaggerAppComponent.create();
-
-    // log.info("Database configuration loaded successfully");
 
+    // The single Vertx instance shared by configuration, HTTP and the Gel layer
     final var vertx = Vertx.vertx();
+    MessageCodecs.register(vertx.eventBus());
+
+    ConfigLoader.load(vertx)
+        .map(config -> DaggerAppComponent.factory().create(vertx, config))
+        .compose(component -> deploy(component).map(component))
+        .onSuccess(
+            component -> {
+              Runtime.getRuntime()
+                  .addShutdownHook(new Thread(() -> shutdown(component), "shutdown"));
+              log.info("Application initialized and ready");
+            })
+        .onFailure(
+            exception -> {
+              log.error("Failed to start application", exception);
+              vertx.close().onComplete(_ -> System.exit(1));
+            });
+  }
+
+  @Nonnull
+  private static Future<?> deploy(@Nonnull final AppComponent component) {
+    final var vertx = component.vertx();
+    final var config = component.envConfig();
+
+    // One router instance per event loop, so every loop accepts connections on the shared port
+    final var instances =
+        config.getInteger("server.instances", VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE);
+
+    final var router =
+        vertx.deployVerticle(
+            component.httpRouterVerticle()::get, new DeploymentOptions().setInstances(instances));
+
+    if (!config.getBoolean("metrics.enabled", true)) {
+      return router;
+    }
+
+    return router.compose(_ -> vertx.deployVerticle(component.metricsVerticle().get()));
+  }
+
+  /** Runs on SIGTERM; the JVM exits once this returns. */
+  private static void shutdown(@Nonnull final AppComponent component) {
+    final var shutdown = component.gracefulShutdown();
 
-    log.info("Application initialized and ready");
+    try {
+      shutdown
+          .run()
+          .toCompletionStage()
+          .toCompletableFuture()
+          .get(shutdown.timeoutMillis(), TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (final ExecutionException | TimeoutException exception) {
+      log.error("Graceful shutdown failed", exception);
+    }
   }
 }
@@ -0,0 +1,120 @@
+package admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import store.GelQueryMetrics;
+
+/**
+ * Pod-wide concurrency limit that follows Gel latency through a {@link GradientLimit}, fed once per
+ * window with the mean Gel query latency and clamped to {@code [min-limit, max-limit]}.
+ *
+ * <p>The limit only grows while the pod actually uses at least half of it, so an idle pod does not
+ * accumulate headroom it has never been tested at.
+ */
+@Slf4j
+@Singleton
+public class AdaptiveLimit {
+  private static final int DEFAULT_INITIAL_LIMIT = 64;
+  private static final int DEFAULT_MIN_LIMIT = 8;
+  private static final int DEFAULT_MAX_LIMIT = 1024;
+  private static final long DEFAULT_WINDOW_MILLIS = 1000;
+  private static final double DEFAULT_TOLERANCE = 2.0;
+  private static final double DEFAULT_SMOOTHING = 0.2;
+
+  private final GelQueryMetrics gelQueryMetrics;
+  private final GradientLimit limit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger peakInFlight = new AtomicInteger();
+  private final Counter rejected;
+
+  private GelQueryMetrics.Totals last;
+
+  @Inject
+  public AdaptiveLimit(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final MeterRegistry registry,
+      final GelQueryMetrics gelQueryMetrics) {
+    this.gelQueryMetrics = gelQueryMetrics;
+    this.limit =
+        new GradientLimit(
+            config.getInteger("admission.initial-limit", DEFAULT_INITIAL_LIMIT),
+            config.getInteger("admission.min-limit", DEFAULT_MIN_LIMIT),
+            config.getInteger("admission.max-limit", DEFAULT_MAX_LIMIT),
+            config.getDouble("admission.tolerance", DEFAULT_TOLERANCE),
+            config.getDouble("admission.smoothing", DEFAULT_SMOOTHING));
+    this.last = gelQueryMetrics.totals();
+
+    Gauge.builder("admission.limit", limit::limit).register(registry);
+    Gauge.builder("admission.in.flight", inFlight, AtomicInteger::get).register(registry);
+    rejected =
+        Counter.builder("admission.rejected")
+            .description("Requests shed because the concurrency limit was reached")
+            .register(registry);
+
+    final var windowMillis = config.getLong("admission.window-millis", DEFAULT_WINDOW_MILLIS);
+    vertx.setPeriodic(windowMillis, _ -> update());
+  }
+
+  /** Takes a slot if one is free; a {@code true} result must be paired with {@link #release()}. */
+  public boolean tryAcquire() {
+    final var current = limit.limit();
+
+    while (true) {
+      final var taken = inFlight.get();
+
+      if (taken >= current) {
+        rejected.increment();
+        return false;
+      }
+
+      if (inFlight.compareAndSet(taken, taken + 1)) {
+        peakInFlight.accumulateAndGet(taken + 1, Math::max);
+        return true;
+      }
+    }
+  }
+
+  public void release() {
+    inFlight.decrementAndGet();
+  }
+
+  private synchronized void update() {
+    final var totals = gelQueryMetrics.totals();
+    final var count = totals.count() - last.count();
+    final var peak = peakInFlight.getAndSet(inFlight.get());
+
+    if (count == 0) {
+      return;
+    }
+
+    final double latency = (double) (totals.nanos() - last.nanos()) / count;
+    last = totals;
+
+    final var current = limit.limit();
+
+    // Only grow a limit that is actually being exercised
+    final var demand =
+        peak < current / 2.0 ? GradientLimit.Demand.ENOUGH : GradientLimit.Demand.MORE;
+    final var updated = limit.update(latency, demand);
+
+    if (updated != current) {
+      log.debug(
+          "Admission limit {} -> {} (latency {} us, long-run {} us)",
+          current,
+          updated,
+          (long) latency / 1000,
+          (long) limit.longLatency() / 1000);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package admission;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Concurrency limit that follows latency, gradient style; shared by the request {@link
+ * AdaptiveLimit} and the per-pool Gel limit so both adapt the same way. Once per window the mean
+ * latency is compared with its long-run average: while it stays within {@code tolerance} of the
+ * average the limit may grow by roughly its square root, and as latency climbs past that it shrinks
+ * in proportion, by at most half. Each step is smoothed and clamped to {@code [min, max]}.
+ *
+ * <p>Updated from one window timer at a time; {@link #limit()} may be read from any thread.
+ */
+public final class GradientLimit {
+  private static final double LONG_WINDOWS = 60;
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double IDLE_DECAY = 0.5;
+
+  /** How much concurrency the caller saw being used during the window. */
+  public enum Demand {
+    /** Work waited for a slot, or used most of the limit; the limit may grow. */
+    MORE,
+    /** The limit may shrink with latency but not grow. */
+    ENOUGH,
+    /** Most of the limit sat unused; give a slot back. */
+    LESS
+  }
+
+  private final int min;
+  private final int max;
+  private final double tolerance;
+  private final double smoothing;
+
+  private volatile double limit;
+  private double longLatency;
+
+  public GradientLimit(
+      final int initial,
+      final int min,
+      final int max,
+      final double tolerance,
+      final double smoothing) {
+    this.min = Math.max(1, Math.min(min, max));
+    this.max = max;
+    this.tolerance = tolerance;
+    this.smoothing = smoothing;
+    this.limit = Math.max(this.min, Math.min(max, initial));
+  }
+
+  public int limit() {
+    return (int) limit;
+  }
+
+  /** Long-run average latency in nanoseconds, or 0 before the first sample. */
+  public double longLatency() {
+    return longLatency;
+  }
+
+  /**
+   * Moves the limit by one window with a mean latency of {@code latencyNanos}, and returns the new
+   * limit. A window without samples leaves it unchanged.
+   */
+  public int update(final double latencyNanos, @Nonnull final Demand demand) {
+    if (latencyNanos <= 0) {
+      return limit();
+    }
+
+    if (longLatency == 0) {
+      longLatency = latencyNanos;
+    } else {
+      longLatency += (latencyNanos - longLatency) / LONG_WINDOWS;
+    }
+
+    final var current = limit;
+    final var gradient =
+        Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longLatency / latencyNanos));
+
+    final var target =
+        switch (demand) {
+          case MORE -> current * gradient + Math.sqrt(current);
+          case ENOUGH -> Math.min(current * gradient + Math.sqrt(current), current);
+          case LESS -> Math.min(current * gradient, current - 1);
+        };
+
+    limit = Math.max(min, Math.min(max, current + (target - current) * smoothing));
+    return limit();
+  }
+
+  /**
+   * Moves the limit by one window in which nothing ran at all: halfway back to {@code min}, and by
+   * at least one slot, so capacity held for a past peak is given up without a latency sample.
+   */
+  public int idle() {
+    final var current = limit;
+
+    limit = Math.max(min, current - Math.max(1, (current - min) * IDLE_DECAY));
+    return limit();
+  }
+}
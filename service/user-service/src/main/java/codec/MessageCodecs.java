@@ -0,0 +1,30 @@
+package codec;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import io.vertx.core.eventbus.EventBus;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers the user-service codecs as event-bus defaults, so messages carrying these types need no
+ * {@code DeliveryOptions#setCodecName}.
+ */
+@Slf4j
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class MessageCodecs {
+  private static final List<RecordCodec<?>> CODECS =
+      List.of(new UserCodec(), new UserPatchCodec(), new NewUserCodec());
+
+  public static void register(@Nonnull final EventBus eventBus) {
+    CODECS.forEach(codec -> register(eventBus, codec));
+    log.info("Registered {} event-bus codecs", CODECS.size());
+  }
+
+  private static <T extends Record> void register(
+      @Nonnull final EventBus eventBus, @Nonnull final RecordCodec<T> codec) {
+    eventBus.registerDefaultCodec(codec.type(), codec);
+  }
+}
@@ -0,0 +1,24 @@
+package codec;
+
+import javax.annotation.Nonnull;
+
+import store.NewUser;
+
+final class NewUserCodec extends RecordCodec<NewUser> {
+  NewUserCodec() {
+    super(NewUser.class);
+  }
+
+  @Override
+  protected void write(@Nonnull final Wire.Writer writer, @Nonnull final NewUser user) {
+    writer.writeString(user.email());
+    writer.writeString(user.createdBy());
+    writer.writeString(user.lastModifiedBy());
+  }
+
+  @Nonnull
+  @Override
+  protected NewUser read(@Nonnull final Wire.Reader reader) {
+    return new NewUser(reader.readString(), reader.readString(), reader.readString());
+  }
+}
@@ -0,0 +1,67 @@
+package codec;
+
+import javax.annotation.Nonnull;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * Event-bus codec for a record. Local deliveries hand over the sender's reference, or a shallow
+ * copy where the record holds mutable fields; only clustered deliveries go through the
+ * length-prefixed binary encoding.
+ */
+public abstract class RecordCodec<T extends Record> implements MessageCodec<T, T> {
+  private final Class<T> type;
+
+  protected RecordCodec(@Nonnull final Class<T> type) {
+    this.type = type;
+  }
+
+  @Nonnull
+  public Class<T> type() {
+    return type;
+  }
+
+  @Override
+  public void encodeToWire(@Nonnull final Buffer buffer, @Nonnull final T value) {
+    final var start = buffer.length();
+
+    buffer.appendInt(0);
+    write(new Wire.Writer(buffer), value);
+    buffer.setInt(start, buffer.length() - start - Integer.BYTES);
+  }
+
+  @Override
+  public T decodeFromWire(final int position, @Nonnull final Buffer buffer) {
+    return read(new Wire.Reader(buffer, position + Integer.BYTES));
+  }
+
+  @Override
+  public T transform(@Nonnull final T value) {
+    return copy(value);
+  }
+
+  @Override
+  public String name() {
+    return type.getName();
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+
+  /**
+   * The value a local receiver gets. Records of immutable fields are shared as they are; override
+   * to copy any mutable field, so the receiver cannot change what the sender still holds.
+   */
+  @Nonnull
+  protected T copy(@Nonnull final T value) {
+    return value;
+  }
+
+  protected abstract void write(@Nonnull Wire.Writer writer, @Nonnull T value);
+
+  @Nonnull
+  protected abstract T read(@Nonnull Wire.Reader reader);
+}
@@ -0,0 +1,59 @@
+package codec;
+
+import java.util.Date;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import store.entity.User;
+
+final class UserCodec extends RecordCodec<User> {
+  UserCodec() {
+    super(User.class);
+  }
+
+  /** Copies the {@link Date} fields, the only mutable ones; strings are shared. */
+  @Nonnull
+  @Override
+  protected User copy(@Nonnull final User user) {
+    return User.builder()
+        .id(user.id())
+        .email(user.email())
+        .created(copy(user.created()))
+        .lastModified(copy(user.lastModified()))
+        .createdBy(user.createdBy())
+        .lastModifiedBy(user.lastModifiedBy())
+        .version(user.version())
+        .build();
+  }
+
+  @Override
+  protected void write(@Nonnull final Wire.Writer writer, @Nonnull final User user) {
+    writer.writeString(user.id());
+    writer.writeString(user.email());
+    writer.writeDate(user.created());
+    writer.writeDate(user.lastModified());
+    writer.writeString(user.createdBy());
+    writer.writeString(user.lastModifiedBy());
+    writer.writeInt(user.version());
+  }
+
+  @Nonnull
+  @Override
+  protected User read(@Nonnull final Wire.Reader reader) {
+    return User.builder()
+        .id(reader.readString())
+        .email(reader.readString())
+        .created(reader.readDate())
+        .lastModified(reader.readDate())
+        .createdBy(reader.readString())
+        .lastModifiedBy(reader.readString())
+        .version(reader.readInt())
+        .build();
+  }
+
+  @Nullable
+  private static Date copy(@Nullable final Date date) {
+    return date == null ? null : new Date(date.getTime());
+  }
+}
@@ -0,0 +1,22 @@
+package codec;
+
+import javax.annotation.Nonnull;
+
+import store.UserPatch;
+
+final class UserPatchCodec extends RecordCodec<UserPatch> {
+  UserPatchCodec() {
+    super(UserPatch.class);
+  }
+
+  @Override
+  protected void write(@Nonnull final Wire.Writer writer, @Nonnull final UserPatch patch) {
+    writer.writeString(patch.email());
+  }
+
+  @Nonnull
+  @Override
+  protected UserPatch read(@Nonnull final Wire.Reader reader) {
+    return new UserPatch(reader.readString());
+  }
+}
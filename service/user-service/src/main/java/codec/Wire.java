@@ -0,0 +1,79 @@
+package codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.vertx.core.buffer.Buffer;
+import lombok.NoArgsConstructor;
+
+/** Primitive binary encoding shared by the {@link RecordCodec}s; {@code null} is a sentinel. */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+final class Wire {
+  private static final int NULL_LENGTH = -1;
+  private static final long NULL_DATE = Long.MIN_VALUE;
+
+  static final class Writer {
+    private final Buffer buffer;
+
+    Writer(@Nonnull final Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    void writeString(@Nullable final String value) {
+      if (value == null) {
+        buffer.appendInt(NULL_LENGTH);
+        return;
+      }
+
+      final var bytes = value.getBytes(StandardCharsets.UTF_8);
+      buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
+
+    void writeDate(@Nullable final Date value) {
+      buffer.appendLong(value == null ? NULL_DATE : value.getTime());
+    }
+
+    void writeInt(final int value) {
+      buffer.appendInt(value);
+    }
+  }
+
+  static final class Reader {
+    private final Buffer buffer;
+    private int position;
+
+    Reader(@Nonnull final Buffer buffer, final int position) {
+      this.buffer = buffer;
+      this.position = position;
+    }
+
+    @Nullable
+    String readString() {
+      final var length = readInt();
+
+      if (length == NULL_LENGTH) {
+        return null;
+      }
+
+      final var value = buffer.getString(position, position + length, "UTF-8");
+      position += length;
+      return value;
+    }
+
+    @Nullable
+    Date readDate() {
+      final var millis = buffer.getLong(position);
+      position += Long.BYTES;
+      return millis == NULL_DATE ? null : new Date(millis);
+    }
+
+    int readInt() {
+      final var value = buffer.getInt(position);
+      position += Integer.BYTES;
+      return value;
+    }
+  }
+}
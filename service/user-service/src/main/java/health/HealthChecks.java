@@ -0,0 +1,143 @@
+package health;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import metrics.EventLoopMetrics;
+import store.GelExecutor;
+import store.GelQueryMetrics;
+import store.QueryWarmer;
+
+/**
+ * Computes readiness on a timer, off the request path, so probes only read the last result. A pod
+ * is not ready until its queries have been warmed on Gel, while either Gel pool does not answer a
+ * ping, while the mean pool wait or the peak event-loop lag over the last interval is above its
+ * threshold, and for good once the pod starts draining.
+ *
+ * <p>A tick is skipped while the previous ping or warm-up has not completed. Timing out only stops
+ * waiting for it; the query itself still holds its place in the pool, and piling more on top would
+ * add to the wait being measured.
+ */
+@Slf4j
+@Singleton
+public class HealthChecks {
+  private static final long DEFAULT_INTERVAL_MILLIS = 1000;
+  private static final long DEFAULT_GEL_TIMEOUT_MILLIS = 2000;
+  private static final long DEFAULT_MAX_POOL_WAIT_MILLIS = 250;
+  private static final long DEFAULT_MAX_LOOP_LAG_MILLIS = 200;
+
+  private final GelExecutor gelExecutor;
+  private final QueryWarmer queryWarmer;
+  private final GelQueryMetrics gelQueryMetrics;
+  private final EventLoopMetrics eventLoopMetrics;
+  private final long gelTimeoutMillis;
+  private final long maxPoolWaitNanos;
+  private final long maxLoopLagNanos;
+
+  private volatile Readiness readiness = Readiness.pending();
+  private volatile boolean draining;
+  private volatile boolean warmed;
+  // Only touched on the timer's context, where the check also completes
+  private boolean checking;
+  private GelQueryMetrics.Totals lastWait;
+
+  @Inject
+  public HealthChecks(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final GelExecutor gelExecutor,
+      final QueryWarmer queryWarmer,
+      final GelQueryMetrics gelQueryMetrics,
+      final EventLoopMetrics eventLoopMetrics) {
+    this.gelExecutor = gelExecutor;
+    this.queryWarmer = queryWarmer;
+    this.gelQueryMetrics = gelQueryMetrics;
+    this.eventLoopMetrics = eventLoopMetrics;
+    this.gelTimeoutMillis =
+        config.getLong("health.ready.gel-timeout-millis", DEFAULT_GEL_TIMEOUT_MILLIS);
+    this.maxPoolWaitNanos =
+        TimeUnit.MILLISECONDS.toNanos(
+            config.getLong("health.ready.max-pool-wait-millis", DEFAULT_MAX_POOL_WAIT_MILLIS));
+    this.maxLoopLagNanos =
+        TimeUnit.MILLISECONDS.toNanos(
+            config.getLong("health.ready.max-loop-lag-millis", DEFAULT_MAX_LOOP_LAG_MILLIS));
+    this.lastWait = gelQueryMetrics.waitTotals();
+
+    final var intervalMillis =
+        config.getLong("health.ready.interval-millis", DEFAULT_INTERVAL_MILLIS);
+    vertx.setPeriodic(0, intervalMillis, _ -> check());
+  }
+
+  /** The result of the most recent check. */
+  @Nonnull
+  public Readiness readiness() {
+    return draining ? Readiness.notReady(Map.of("draining", true)) : readiness;
+  }
+
+  /** Reports not ready from now on, so load balancers stop routing here before shutdown. */
+  public void drain() {
+    draining = true;
+  }
+
+  private void check() {
+    if (checking) {
+      log.debug("Previous Gel check still running; skipping this one");
+      return;
+    }
+
+    final var waitTotals = gelQueryMetrics.waitTotals();
+    final var waits = waitTotals.count() - lastWait.count();
+    final var poolWaitNanos = waits == 0 ? 0 : (waitTotals.nanos() - lastWait.nanos()) / waits;
+    final var loopLagNanos = eventLoopMetrics.takePeakLagNanos();
+
+    lastWait = waitTotals;
+    checking = true;
+
+    checkGel()
+        .onComplete(_ -> checking = false)
+        .timeout(gelTimeoutMillis, TimeUnit.MILLISECONDS)
+        .map(_ -> true)
+        .otherwise(
+            failure -> {
+              log.warn("Gel check failed: {}", failure.getMessage());
+              return false;
+            })
+        .onSuccess(gelUp -> update(gelUp, poolWaitNanos, loopLagNanos));
+  }
+
+  /** Until the warm-up has succeeded it stands in for the ping, as it also reaches every pool. */
+  @Nonnull
+  private Future<Void> checkGel() {
+    return warmed ? gelExecutor.ping() : queryWarmer.warm().onSuccess(_ -> warmed = true);
+  }
+
+  private void update(final boolean gelUp, final long poolWaitNanos, final long loopLagNanos) {
+    final var details =
+        Map.<String, Object>of(
+            "gel",
+            gelUp,
+            "warmed",
+            warmed,
+            "poolWaitMillis",
+            TimeUnit.NANOSECONDS.toMillis(poolWaitNanos),
+            "loopLagMillis",
+            TimeUnit.NANOSECONDS.toMillis(loopLagNanos));
+    final var ready =
+        warmed && gelUp && poolWaitNanos <= maxPoolWaitNanos && loopLagNanos <= maxLoopLagNanos;
+
+    if (ready != readiness.ready()) {
+      log.info("Readiness changed to {} {}", ready ? "ready" : "not ready", details);
+    }
+
+    readiness = ready ? Readiness.ready(details) : Readiness.notReady(details);
+  }
+}
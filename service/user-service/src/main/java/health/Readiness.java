@@ -0,0 +1,33 @@
+package health;
+
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import io.vertx.core.json.JsonObject;
+
+/** Outcome of a readiness check, with the measurements behind it. */
+public record Readiness(boolean ready, @Nonnull Map<String, Object> details) {
+  @Nonnull
+  static Readiness ready(@Nonnull final Map<String, Object> details) {
+    return new Readiness(true, details);
+  }
+
+  @Nonnull
+  static Readiness notReady(@Nonnull final Map<String, Object> details) {
+    return new Readiness(false, details);
+  }
+
+  /** Not ready until the first check completes. */
+  @Nonnull
+  static Readiness pending() {
+    return notReady(Map.of("pending", true));
+  }
+
+  @Nonnull
+  public JsonObject toJson() {
+    return new JsonObject()
+        .put("status", ready ? "UP" : "DOWN")
+        .put("checks", new JsonObject(details));
+  }
+}
@@ -0,0 +1,47 @@
+package http;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import admission.AdaptiveLimit;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Sheds requests beyond the {@link AdaptiveLimit} with an immediate 503 and {@code Retry-After},
+ * instead of letting them queue behind the Gel pool.
+ */
+@Singleton
+public class AdmissionHandler implements Handler<RoutingContext> {
+  private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+
+  private final AdaptiveLimit limit;
+  private final String retryAfter;
+
+  @Inject
+  public AdmissionHandler(@Named("envConfig") final JsonObject config, final AdaptiveLimit limit) {
+    this.limit = limit;
+    this.retryAfter =
+        Long.toString(config.getLong("admission.retry-after-seconds", DEFAULT_RETRY_AFTER_SECONDS));
+  }
+
+  @Override
+  public void handle(@Nonnull final RoutingContext context) {
+    if (!limit.tryAcquire()) {
+      context
+          .response()
+          .setStatusCode(503)
+          .putHeader(HttpHeaders.RETRY_AFTER, retryAfter)
+          .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+          .end(new JsonObject().put("error", "Server is at capacity").toBuffer());
+      return;
+    }
+
+    context.addEndHandler(_ -> limit.release());
+    context.next();
+  }
+}
@@ -0,0 +1,268 @@
+package http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.RecordParser;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import lombok.extern.slf4j.Slf4j;
+import metrics.RequestMetrics;
+import service.UserService;
+import store.DuplicateEmailException;
+import store.NewUser;
+
+/**
+ * Streams an NDJSON request body of users into batched inserts. Lines are parsed as they arrive, up
+ * to {@code import.max-in-flight} batches are written concurrently, and the request is paused while
+ * that limit is reached or the response cannot keep up, so memory stays bounded by the batch size
+ * rather than the payload.
+ *
+ * <p>The response is NDJSON as well: one line per invalid input line, one per batch with its line
+ * range and outcome, and a final summary. A batch with an email that is already taken is rejected
+ * whole and reported as a {@code conflict}, the 409 of the single-user routes.
+ */
+@Slf4j
+@Singleton
+public class BulkImportHandler {
+  public static final String BULK_PATH = HttpRouterVerticle.USERS_PATH + ":bulk";
+
+  private static final String NDJSON = "application/x-ndjson";
+  private static final int DEFAULT_BATCH_SIZE = 500;
+  private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+  private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+  private final UserService userService;
+  private final int batchSize;
+  private final int maxInFlight;
+
+  @Inject
+  public BulkImportHandler(
+      @Named("envConfig") final JsonObject config, final UserService userService) {
+    this.userService = userService;
+    this.batchSize = config.getInteger("import.batch-size", DEFAULT_BATCH_SIZE);
+    this.maxInFlight = config.getInteger("import.max-in-flight", DEFAULT_MAX_IN_FLIGHT);
+  }
+
+  /** Registers the bulk route; must precede the {@code /api/v1/users} sub-router. */
+  public void mount(@Nonnull final Router router) {
+    router
+        .postWithRegex(Pattern.quote(BULK_PATH))
+        .handler(RequestMetrics.route(BULK_PATH))
+        .handler(context -> new Import(context).start());
+  }
+
+  @Nonnull
+  private static NewUser parse(@Nonnull final JsonObject json) {
+    final var email = json.getString("email");
+    final var createdBy = json.getString("createdBy");
+
+    if (email == null || email.isBlank() || createdBy == null || createdBy.isBlank()) {
+      throw new IllegalArgumentException("Fields 'email' and 'createdBy' are required");
+    }
+
+    return new NewUser(email, createdBy, json.getString("lastModifiedBy", createdBy));
+  }
+
+  /** State of one import request; only touched from the request's event loop. */
+  private final class Import {
+    private final RoutingContext context;
+    private final HttpServerResponse response;
+    private RecordParser parser;
+    private List<NewUser> batch = new ArrayList<>(batchSize);
+    private long line;
+    private long batchFirstLine;
+    private int batches;
+    private int inFlight;
+    private boolean paused;
+    private boolean ended;
+    private boolean aborted;
+    private boolean finished;
+    private long inserted;
+    private long failed;
+    private long invalid;
+
+    private Import(@Nonnull final RoutingContext context) {
+      this.context = context;
+      this.response = context.response();
+    }
+
+    private void start() {
+      response.setChunked(true).putHeader(HttpHeaders.CONTENT_TYPE, NDJSON);
+
+      parser = RecordParser.newDelimited("\n", context.request()).maxRecordSize(MAX_LINE_LENGTH);
+      parser.exceptionHandler(this::abort);
+      parser.endHandler(
+          _ -> {
+            ended = true;
+            flush();
+            finishIfDone();
+          });
+      parser.handler(this::handleLine);
+      response.drainHandler(_ -> updateFlow());
+    }
+
+    private void handleLine(@Nonnull final Buffer buffer) {
+      // The parser can still hand over records it had buffered when the request failed
+      if (aborted || finished) {
+        return;
+      }
+
+      line++;
+
+      final var text = buffer.toString(StandardCharsets.UTF_8).strip();
+
+      if (text.isEmpty()) {
+        return;
+      }
+
+      final NewUser user;
+
+      try {
+        user = parse(new JsonObject(text));
+      } catch (final RuntimeException exception) {
+        invalid++;
+        report(
+            new JsonObject()
+                .put("line", line)
+                .put("status", "invalid")
+                .put("error", exception.getMessage()));
+        return;
+      }
+
+      if (batch.isEmpty()) {
+        batchFirstLine = line;
+      }
+
+      batch.add(user);
+
+      if (batch.size() >= batchSize) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      if (batch.isEmpty() || aborted || finished) {
+        return;
+      }
+
+      final var users = batch;
+      final var report =
+          new JsonObject()
+              .put("batch", ++batches)
+              .put("firstLine", batchFirstLine)
+              .put("lastLine", line)
+              .put("size", users.size());
+
+      batch = new ArrayList<>(batchSize);
+
+      inFlight++;
+      updateFlow();
+
+      userService.createAll(users).onComplete(outcome -> completed(users, report, outcome));
+    }
+
+    private void completed(
+        @Nonnull final List<NewUser> users,
+        @Nonnull final JsonObject report,
+        @Nonnull final AsyncResult<Long> outcome) {
+      inFlight--;
+
+      if (outcome.succeeded()) {
+        inserted += outcome.result();
+        report(report.put("status", "ok").put("inserted", outcome.result()));
+      } else if (outcome.cause() instanceof DuplicateEmailException) {
+        failed += users.size();
+        report(report.put("status", "conflict").put("error", outcome.cause().getMessage()));
+      } else {
+        failed += users.size();
+        log.warn("Bulk import batch {} failed", report.getInteger("batch"), outcome.cause());
+        report(report.put("status", "error").put("error", outcome.cause().getMessage()));
+      }
+
+      updateFlow();
+      finishIfDone();
+    }
+
+    private void finishIfDone() {
+      if (!ended || inFlight > 0 || finished) {
+        return;
+      }
+
+      finished = true;
+      response.end(
+          ndjson(
+              new JsonObject()
+                  .put("status", "done")
+                  .put("inserted", inserted)
+                  .put("failed", failed)
+                  .put("invalid", invalid)));
+    }
+
+    private void abort(@Nonnull final Throwable failure) {
+      if (aborted || finished) {
+        return;
+      }
+
+      // Batches already sent are reported as they complete; nothing further is read
+      log.warn("Bulk import aborted at line {}", line, failure);
+      ended = true;
+      aborted = true;
+      batch = new ArrayList<>(0);
+      report(
+          new JsonObject()
+              .put("line", line)
+              .put("status", "aborted")
+              .put("error", failure.getMessage()));
+      finishIfDone();
+    }
+
+    /**
+     * Reads the body only while another batch may start and the response has room; a client that is
+     * slow to read the report slows the import instead of growing the write queue.
+     */
+    private void updateFlow() {
+      if (ended || finished) {
+        return;
+      }
+
+      final var pause = inFlight >= maxInFlight || response.writeQueueFull();
+
+      if (pause == paused) {
+        return;
+      }
+
+      paused = pause;
+
+      if (pause) {
+        parser.pause();
+      } else {
+        parser.resume();
+      }
+    }
+
+    private void report(@Nonnull final JsonObject json) {
+      if (!response.closed() && !response.ended()) {
+        response.write(ndjson(json));
+        updateFlow();
+      }
+    }
+
+    @Nonnull
+    private static Buffer ndjson(@Nonnull final JsonObject json) {
+      return json.toBuffer().appendByte((byte) '\n');
+    }
+  }
+}
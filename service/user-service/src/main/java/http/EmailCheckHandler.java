@@ -0,0 +1,70 @@
+package http;
+
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import lombok.extern.slf4j.Slf4j;
+import metrics.RequestMetrics;
+import service.UserService;
+
+/**
+ * Answers signup checks: {@code GET /api/v1/users:check-email?email=...} responds with whether the
+ * email is taken. Most checks are for new emails, which the email filter answers without a query.
+ */
+@Slf4j
+@Singleton
+public class EmailCheckHandler {
+  public static final String CHECK_EMAIL_PATH = HttpRouterVerticle.USERS_PATH + ":check-email";
+
+  private final UserService userService;
+
+  @Inject
+  public EmailCheckHandler(final UserService userService) {
+    this.userService = userService;
+  }
+
+  /** Registers the check route; must precede the {@code /api/v1/users} sub-router. */
+  public void mount(@Nonnull final Router router) {
+    router
+        .getWithRegex(Pattern.quote(CHECK_EMAIL_PATH))
+        .handler(RequestMetrics.route(CHECK_EMAIL_PATH))
+        .handler(this::check);
+  }
+
+  private void check(@Nonnull final RoutingContext context) {
+    final var email = context.queryParams().get("email");
+
+    if (email == null || email.isBlank()) {
+      respond(context, 400, new JsonObject().put("error", "Query parameter 'email' is required"));
+      return;
+    }
+
+    userService
+        .isEmailTaken(email)
+        .onSuccess(
+            taken ->
+                respond(context, 200, new JsonObject().put("email", email).put("taken", taken)))
+        .onFailure(
+            failure -> {
+              log.error("Email check failed", failure);
+              respond(context, 500, new JsonObject().put("error", "Internal Server Error"));
+            });
+  }
+
+  private static void respond(
+      @Nonnull final RoutingContext context, final int status, @Nonnull final JsonObject body) {
+    context
+        .response()
+        .setStatusCode(status)
+        .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+        .putHeader(HttpHeaders.CACHE_CONTROL, "no-store")
+        .end(body.toBuffer());
+  }
+}
@@ -0,0 +1,116 @@
+package http;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import json.UserJsonWriter;
+import lombok.extern.slf4j.Slf4j;
+import metrics.RequestMetrics;
+import service.UserService;
+import store.entity.User;
+
+/**
+ * Streams every user as NDJSON. Pages are read by {@code (created, id)} keyset, written straight to
+ * the response, and the next page is only read once the write queue has room, so at most one page
+ * is held in memory regardless of table size. Each page is encoded into a single buffer and written
+ * with one call.
+ */
+@Slf4j
+@Singleton
+public class ExportHandler {
+  public static final String EXPORT_PATH = HttpRouterVerticle.USERS_PATH + ":export";
+
+  private static final String NDJSON = "application/x-ndjson";
+  private static final int DEFAULT_PAGE_SIZE = 1000;
+  private static final int ESTIMATED_LINE_SIZE = 256;
+
+  private final UserService userService;
+  private final UserJsonWriter writer;
+  private final int pageSize;
+
+  @Inject
+  public ExportHandler(
+      @Named("envConfig") final JsonObject config,
+      final UserService userService,
+      final UserJsonWriter writer) {
+    this.userService = userService;
+    this.writer = writer;
+    this.pageSize = config.getInteger("export.page-size", DEFAULT_PAGE_SIZE);
+  }
+
+  /** Registers the export route; must precede the {@code /api/v1/users} sub-router. */
+  public void mount(@Nonnull final Router router) {
+    router
+        .getWithRegex(Pattern.quote(EXPORT_PATH))
+        .handler(RequestMetrics.route(EXPORT_PATH))
+        .handler(this::export);
+  }
+
+  private void export(@Nonnull final RoutingContext context) {
+    final var response = context.response();
+
+    response.setChunked(true).putHeader(HttpHeaders.CONTENT_TYPE, NDJSON);
+    nextPage(context, null);
+  }
+
+  private void nextPage(@Nonnull final RoutingContext context, @Nullable final User after) {
+    userService
+        .page(after, pageSize)
+        .onSuccess(users -> writePage(context, users))
+        .onFailure(
+            exception -> {
+              if (!context.response().headWritten()) {
+                // Nothing sent yet, so the client can still be told with a status
+                context.response().headers().remove(HttpHeaders.CONTENT_TYPE);
+                context.fail(500, exception);
+                return;
+              }
+
+              log.error(
+                  "User export failed after {}", after == null ? null : after.id(), exception);
+              // Resetting tells the client the stream it already has is incomplete
+              context.response().reset();
+            });
+  }
+
+  private void writePage(@Nonnull final RoutingContext context, @Nonnull final List<User> users) {
+    final var response = context.response();
+
+    if (response.closed()) {
+      return;
+    }
+
+    final var page = Buffer.buffer(users.size() * ESTIMATED_LINE_SIZE);
+
+    for (final var user : users) {
+      writer.write(user, page);
+      page.appendByte((byte) '\n');
+    }
+
+    response.write(page);
+
+    if (users.size() < pageSize) {
+      response.end();
+      return;
+    }
+
+    final var last = users.getLast();
+
+    if (response.writeQueueFull()) {
+      response.drainHandler(_ -> nextPage(context, last));
+    } else {
+      nextPage(context, last);
+    }
+  }
+}
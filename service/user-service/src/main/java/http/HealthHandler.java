@@ -0,0 +1,61 @@
+package http;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import health.HealthChecks;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import metrics.RequestMetrics;
+
+/**
+ * Kubernetes probes. Liveness only shows the event loop is answering; readiness returns the last
+ * result computed by {@link HealthChecks}, so neither touches Gel on the probe itself.
+ */
+@Singleton
+public class HealthHandler {
+  private static final String DEFAULT_LIVE_PATH = "/health/live";
+  private static final String DEFAULT_READY_PATH = "/health/ready";
+  private static final Buffer LIVE = new JsonObject().put("status", "UP").toBuffer();
+
+  private final HealthChecks healthChecks;
+  private final String livePath;
+  private final String readyPath;
+
+  @Inject
+  public HealthHandler(
+      @Named("envConfig") final JsonObject config, final HealthChecks healthChecks) {
+    this.healthChecks = healthChecks;
+    this.livePath = config.getString("health.live.path", DEFAULT_LIVE_PATH);
+    this.readyPath = config.getString("health.ready.path", DEFAULT_READY_PATH);
+  }
+
+  public void mount(@Nonnull final Router router) {
+    router.get(livePath).handler(RequestMetrics.route(livePath)).handler(this::live);
+    router.get(readyPath).handler(RequestMetrics.route(readyPath)).handler(this::ready);
+  }
+
+  private void live(@Nonnull final RoutingContext context) {
+    context
+        .response()
+        .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+        .putHeader(HttpHeaders.CACHE_CONTROL, "no-store")
+        .end(LIVE.copy());
+  }
+
+  private void ready(@Nonnull final RoutingContext context) {
+    final var readiness = healthChecks.readiness();
+
+    context
+        .response()
+        .setStatusCode(readiness.ready() ? 200 : 503)
+        .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+        .putHeader(HttpHeaders.CACHE_CONTROL, "no-store")
+        .end(readiness.toJson().toBuffer());
+  }
+}
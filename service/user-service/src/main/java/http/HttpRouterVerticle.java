@@ -0,0 +1,119 @@
+package http;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import io.vertx.core.Future;
+import io.vertx.core.VerticleBase;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import lombok.extern.slf4j.Slf4j;
+import metrics.EventLoopMetrics;
+import metrics.RequestMetrics;
+import store.cache.invalidation.PeerInvalidationTransport;
+
+/**
+ * Serves the public HTTP API. Deployed once per event loop; every instance binds the same port and
+ * Vert.x balances accepted connections across them.
+ */
+@Slf4j
+public class HttpRouterVerticle extends VerticleBase {
+  public static final String USERS_PATH = "/api/v1/users";
+
+  private static final int DEFAULT_PORT = 8080;
+  private static final String DEFAULT_HOST = "0.0.0.0";
+  private static final long DEFAULT_DRAIN_TIMEOUT_MILLIS = 20_000;
+
+  private final JsonObject config;
+  private final UserHandler userHandler;
+  private final BulkImportHandler bulkImportHandler;
+  private final ExportHandler exportHandler;
+  private final EmailCheckHandler emailCheckHandler;
+  private final InvalidationHandler invalidationHandler;
+  private final AdmissionHandler admissionHandler;
+  private final HealthHandler healthHandler;
+  private final RequestMetrics requestMetrics;
+  private final EventLoopMetrics eventLoopMetrics;
+
+  private HttpServer server;
+
+  @Inject
+  public HttpRouterVerticle(
+      @Named("envConfig") final JsonObject config,
+      final UserHandler userHandler,
+      final BulkImportHandler bulkImportHandler,
+      final ExportHandler exportHandler,
+      final EmailCheckHandler emailCheckHandler,
+      final InvalidationHandler invalidationHandler,
+      final AdmissionHandler admissionHandler,
+      final HealthHandler healthHandler,
+      final RequestMetrics requestMetrics,
+      final EventLoopMetrics eventLoopMetrics) {
+    this.config = config;
+    this.userHandler = userHandler;
+    this.bulkImportHandler = bulkImportHandler;
+    this.exportHandler = exportHandler;
+    this.emailCheckHandler = emailCheckHandler;
+    this.invalidationHandler = invalidationHandler;
+    this.admissionHandler = admissionHandler;
+    this.healthHandler = healthHandler;
+    this.requestMetrics = requestMetrics;
+    this.eventLoopMetrics = eventLoopMetrics;
+  }
+
+  @Override
+  public Future<?> start() {
+    final var router = Router.router(vertx);
+
+    eventLoopMetrics.monitor();
+    router.route().handler(requestMetrics::handle);
+    healthHandler.mount(router);
+
+    // Covers the bulk, export and email check routes as well, which share the users prefix
+    if (config.getBoolean("admission.enabled", true)) {
+      router.route(USERS_PATH + "*").handler(admissionHandler);
+    }
+
+    bulkImportHandler.mount(router);
+    exportHandler.mount(router);
+    emailCheckHandler.mount(router);
+    router.route(USERS_PATH + "*").subRouter(userHandler.router(vertx));
+    router
+        .route(PeerInvalidationTransport.INVALIDATIONS_PATH + "*")
+        .subRouter(invalidationHandler.router(vertx));
+
+    final var options =
+        new HttpServerOptions()
+            .setPort(config.getInteger("server.port", DEFAULT_PORT))
+            .setHost(config.getString("server.host", DEFAULT_HOST));
+
+    return vertx
+        .createHttpServer(options)
+        .requestHandler(router)
+        .listen()
+        .onSuccess(
+            listening -> {
+              server = listening;
+              log.info(
+                  "HTTP router listening on port {} ({})",
+                  listening.actualPort(),
+                  Thread.currentThread().getName());
+            });
+  }
+
+  /** Stops accepting connections and lets in-flight requests finish, up to the drain timeout. */
+  @Override
+  public Future<?> stop() {
+    if (server == null) {
+      return Future.succeededFuture();
+    }
+
+    return server.shutdown(
+        config.getLong("shutdown.drain-timeout-millis", DEFAULT_DRAIN_TIMEOUT_MILLIS),
+        TimeUnit.MILLISECONDS);
+  }
+}
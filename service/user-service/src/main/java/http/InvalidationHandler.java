@@ -0,0 +1,74 @@
+package http;
+
+import java.util.ArrayList;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import lombok.extern.slf4j.Slf4j;
+import metrics.RequestMetrics;
+import store.cache.invalidation.InvalidationTransport;
+import store.cache.invalidation.PeerInvalidationTransport;
+import store.cache.invalidation.UserInvalidation;
+
+/** Receives invalidation batches from peer pods. Not routed through Kong. */
+@Slf4j
+@Singleton
+public class InvalidationHandler {
+  private static final long BODY_LIMIT = 1024 * 1024;
+
+  private final InvalidationTransport transport;
+
+  @Inject
+  public InvalidationHandler(final InvalidationTransport transport) {
+    this.transport = transport;
+  }
+
+  @Nonnull
+  public Router router(@Nonnull final Vertx vertx) {
+    final var router = Router.router(vertx);
+
+    router
+        .post("/")
+        .handler(BodyHandler.create(false).setBodyLimit(BODY_LIMIT))
+        .handler(RequestMetrics.route(PeerInvalidationTransport.INVALIDATIONS_PATH))
+        .handler(this::receive);
+
+    return router;
+  }
+
+  private void receive(@Nonnull final RoutingContext context) {
+    final var batch = context.body().asJsonArray();
+
+    if (batch == null) {
+      context.response().setStatusCode(400).end();
+      return;
+    }
+
+    final var invalidations = new ArrayList<UserInvalidation>(batch.size());
+
+    // A malformed entry rejects the whole batch before any of it is applied
+    try {
+      for (final var entry : batch) {
+        if (!(entry instanceof JsonObject json)) {
+          throw new IllegalArgumentException("Invalidation is not an object: " + entry);
+        }
+
+        invalidations.add(UserInvalidation.fromJson(json));
+      }
+    } catch (final IllegalArgumentException exception) {
+      log.warn("Rejected invalidation batch: {}", exception.getMessage());
+      context.response().setStatusCode(400).end();
+      return;
+    }
+
+    invalidations.forEach(transport::receive);
+    context.response().setStatusCode(204).end();
+  }
+}
@@ -0,0 +1,52 @@
+package http;
+
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import lombok.NoArgsConstructor;
+import store.entity.User;
+
+/**
+ * Validators for user representations. The entity tag is {@code "<id>:<version>"}, which changes
+ * exactly when the stored user does, so no payload has to be hashed to produce it.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class UserETags {
+  @Nonnull
+  public static String etag(@Nonnull final User user) {
+    return "\"" + user.id() + ":" + user.version() + "\"";
+  }
+
+  @Nullable
+  public static String lastModified(@Nullable final Date lastModified) {
+    return lastModified == null
+        ? null
+        : DateTimeFormatter.RFC_1123_DATE_TIME.format(
+            lastModified.toInstant().atOffset(ZoneOffset.UTC));
+  }
+
+  /** Whether an {@code If-Match} value is {@code *}, which any current version satisfies. */
+  public static boolean matchesAny(@Nonnull final String ifMatch) {
+    return ifMatch.strip().equals("*");
+  }
+
+  /**
+   * Extracts the version from an {@code If-Match} value naming user {@code id}.
+   *
+   * @throws IllegalArgumentException if the value is not a single tag for that user
+   */
+  public static int version(@Nonnull final String ifMatch, @Nonnull final String id) {
+    final var tag = ifMatch.strip();
+    final var prefix = "\"" + id + ":";
+
+    if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+      throw new IllegalArgumentException("If-Match must be a single entity tag for user " + id);
+    }
+
+    return Integer.parseInt(tag.substring(prefix.length(), tag.length() - 1));
+  }
+}
@@ -0,0 +1,255 @@
+package http;
+
+import java.util.concurrent.CompletionException;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import json.UserJsonWriter;
+import lombok.extern.slf4j.Slf4j;
+import metrics.RequestMetrics;
+import service.UserService;
+import service.VersionConflictException;
+import store.DuplicateEmailException;
+import store.UserPatch;
+import store.cache.UserCache;
+import store.entity.User;
+
+/** Routes mounted under {@code /api/v1/users}. */
+@Slf4j
+@Singleton
+public class UserHandler {
+  private static final long BODY_LIMIT = 64 * 1024;
+  private static final int UPDATE_MAX_ATTEMPTS = 3;
+  private static final String USERS_ROUTE = HttpRouterVerticle.USERS_PATH;
+  private static final String USER_ROUTE = HttpRouterVerticle.USERS_PATH + "/:id";
+
+  private final UserService userService;
+  private final UserCache userCache;
+  private final UserJsonWriter writer;
+
+  @Inject
+  public UserHandler(
+      final UserService userService, final UserCache userCache, final UserJsonWriter writer) {
+    this.userService = userService;
+    this.userCache = userCache;
+    this.writer = writer;
+  }
+
+  @Nonnull
+  public Router router(@Nonnull final Vertx vertx) {
+    final var router = Router.router(vertx);
+
+    router.get("/").handler(RequestMetrics.route(USERS_ROUTE)).handler(this::findByEmail);
+    router.get("/:id").handler(RequestMetrics.route(USER_ROUTE)).handler(this::findById);
+    router
+        .post("/")
+        .handler(BodyHandler.create(false).setBodyLimit(BODY_LIMIT))
+        .handler(RequestMetrics.route(USERS_ROUTE))
+        .handler(this::create);
+    router
+        .patch("/:id")
+        .handler(BodyHandler.create(false).setBodyLimit(BODY_LIMIT))
+        .handler(RequestMetrics.route(USER_ROUTE))
+        .handler(this::update);
+    router.delete("/:id").handler(RequestMetrics.route(USER_ROUTE)).handler(this::delete);
+    router.route().failureHandler(this::handleFailure);
+
+    return router;
+  }
+
+  private void findById(@Nonnull final RoutingContext context) {
+    final var id = context.pathParam("id");
+
+    userService
+        .findById(id)
+        .onSuccess(user -> respond(context, 200, user))
+        .onFailure(context::fail);
+  }
+
+  private void findByEmail(@Nonnull final RoutingContext context) {
+    final var email = context.queryParams().get("email");
+
+    if (email == null || email.isBlank()) {
+      context.fail(400, new IllegalArgumentException("Query parameter 'email' is required"));
+      return;
+    }
+
+    userService
+        .findByEmail(email)
+        .onSuccess(user -> respond(context, 200, user))
+        .onFailure(context::fail);
+  }
+
+  private void create(@Nonnull final RoutingContext context) {
+    final var body = context.body().asJsonObject();
+    final var email = body == null ? null : body.getString("email");
+    final var createdBy = body == null ? null : body.getString("createdBy");
+
+    if (email == null || email.isBlank() || createdBy == null || createdBy.isBlank()) {
+      context.fail(
+          400, new IllegalArgumentException("Fields 'email' and 'createdBy' are required"));
+      return;
+    }
+
+    userService
+        .create(email, createdBy)
+        .onSuccess(user -> respond(context, 201, user))
+        .onFailure(context::fail);
+  }
+
+  /**
+   * Applies a partial update. With a {@code version} in the body the update is conditional and a
+   * stale version answers 409; without one the patch is applied to the latest version, retrying a
+   * bounded number of times if concurrent writes keep winning. An {@code If-Match} entity tag takes
+   * the place of the body version, and {@code If-Match: *} only requires the user to exist.
+   */
+  private void update(@Nonnull final RoutingContext context) {
+    final var id = context.pathParam("id");
+    final var body = context.body().asJsonObject();
+    final var modifiedBy = body == null ? null : body.getString("lastModifiedBy");
+
+    if (modifiedBy == null || modifiedBy.isBlank()) {
+      context.fail(400, new IllegalArgumentException("Field 'lastModifiedBy' is required"));
+      return;
+    }
+
+    final var bodyVersion = body.getValue("version");
+
+    if (bodyVersion != null && !(bodyVersion instanceof Integer)) {
+      context.fail(400, new IllegalArgumentException("Field 'version' must be an integer"));
+      return;
+    }
+
+    final var patch = new UserPatch(body.getString("email"));
+    final var ifMatch = context.request().getHeader(HttpHeaders.IF_MATCH);
+    final var anyVersion = ifMatch != null && UserETags.matchesAny(ifMatch);
+    final Integer version;
+
+    if (ifMatch == null) {
+      version = (Integer) bodyVersion;
+    } else {
+      version = anyVersion ? null : Integer.valueOf(UserETags.version(ifMatch, id));
+    }
+
+    final var result =
+        version == null
+            ? userService.updateWithRetry(id, _ -> patch, modifiedBy, UPDATE_MAX_ATTEMPTS)
+            : userService.update(id, version, patch, modifiedBy);
+
+    result
+        .onSuccess(
+            user -> {
+              // RFC 9110: If-Match: * fails when there is no current representation
+              if (user == null && anyVersion) {
+                context.fail(412);
+              } else {
+                respond(context, 200, user);
+              }
+            })
+        .onFailure(
+            failure -> {
+              // A failed If-Match precondition is 412; a stale body version stays 409
+              if (ifMatch != null && failure instanceof VersionConflictException) {
+                context.fail(412, failure);
+              } else {
+                context.fail(failure);
+              }
+            });
+  }
+
+  private void delete(@Nonnull final RoutingContext context) {
+    final var id = context.pathParam("id");
+
+    userService
+        .delete(id)
+        .onSuccess(
+            deleted -> {
+              if (deleted) {
+                context.response().setStatusCode(204).end();
+              } else {
+                context.fail(404);
+              }
+            })
+        .onFailure(context::fail);
+  }
+
+  private void respond(@Nonnull final RoutingContext context, final int status, final User user) {
+    if (user == null) {
+      context.fail(404);
+      return;
+    }
+
+    final var response =
+        context
+            .response()
+            .setStatusCode(status)
+            .putHeader(HttpHeaders.ETAG, UserETags.etag(user))
+            .putHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    final var lastModified = UserETags.lastModified(user.lastModified());
+
+    if (lastModified != null) {
+      response.putHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+    }
+
+    // Conditional GETs are answered from the validators alone, before encoding the body
+    if (context.isFresh()) {
+      response.setStatusCode(304).end();
+      return;
+    }
+
+    response.putHeader(HttpHeaders.CONTENT_TYPE, "application/json").end(encode(user));
+  }
+
+  /** Reuses the encoding stored alongside a cached copy of the same version. */
+  @Nonnull
+  private Buffer encode(@Nonnull final User user) {
+    final var encoded = userCache.encoded(user);
+    return encoded == null ? writer.encode(user) : Buffer.buffer(encoded);
+  }
+
+  private void handleFailure(@Nonnull final RoutingContext context) {
+    var failure = context.failure();
+
+    while (failure instanceof CompletionException && failure.getCause() != null) {
+      failure = failure.getCause();
+    }
+
+    final int status;
+
+    if (failure instanceof IllegalArgumentException) {
+      status = 400;
+    } else if (context.statusCode() == 412) {
+      status = 412;
+    } else if (failure instanceof VersionConflictException
+        || failure instanceof DuplicateEmailException) {
+      status = 409;
+    } else if (context.statusCode() > 0 && context.statusCode() != 500) {
+      status = context.statusCode();
+    } else {
+      status = 500;
+      log.error(
+          "Request {} {} failed", context.request().method(), context.normalizedPath(), failure);
+    }
+
+    final var message =
+        status == 500 || failure == null || failure.getMessage() == null
+            ? HttpResponseStatus.valueOf(status).reasonPhrase()
+            : failure.getMessage();
+
+    context
+        .response()
+        .setStatusCode(status)
+        .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+        .end(new JsonObject().put("error", message).toBuffer());
+  }
+}
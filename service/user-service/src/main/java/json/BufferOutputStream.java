@@ -0,0 +1,26 @@
+package json;
+
+import java.io.OutputStream;
+
+import javax.annotation.Nonnull;
+
+import io.vertx.core.buffer.Buffer;
+
+/** Appends to a {@link Buffer}; the generator above it already batches writes into chunks. */
+final class BufferOutputStream extends OutputStream {
+  private final Buffer buffer;
+
+  BufferOutputStream(@Nonnull final Buffer buffer) {
+    this.buffer = buffer;
+  }
+
+  @Override
+  public void write(final int value) {
+    buffer.appendByte((byte) value);
+  }
+
+  @Override
+  public void write(@Nonnull final byte[] bytes, final int offset, final int length) {
+    buffer.appendBytes(bytes, offset, length);
+  }
+}
@@ -0,0 +1,71 @@
+package json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Date;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.vertx.core.buffer.Buffer;
+import store.entity.AbstractEntity;
+import store.entity.BaseEntity;
+
+/**
+ * Streams an entity as JSON directly into a {@link Buffer}, with no intermediate {@code
+ * JsonObject}, map or reflection. Writes {@code id} for {@link BaseEntity}, then the fields of the
+ * concrete type, then the audit fields of {@link AbstractEntity}.
+ */
+public abstract class EntityJsonWriter<T> {
+  private static final JsonFactory FACTORY = new JsonFactory();
+  private static final int INITIAL_CAPACITY = 256;
+
+  @Nonnull
+  public final Buffer encode(@Nonnull final T entity) {
+    final var buffer = Buffer.buffer(INITIAL_CAPACITY);
+    write(entity, buffer);
+    return buffer;
+  }
+
+  /** Appends {@code entity} to {@code buffer}. */
+  public final void write(@Nonnull final T entity, @Nonnull final Buffer buffer) {
+    try (final var generator = FACTORY.createGenerator(new BufferOutputStream(buffer))) {
+      generator.writeStartObject();
+
+      if (entity instanceof BaseEntity base) {
+        generator.writeStringField("id", base.id());
+      }
+
+      writeFields(entity, generator);
+
+      if (entity instanceof AbstractEntity audited) {
+        writeDate(generator, "created", audited.created());
+        writeDate(generator, "lastModified", audited.lastModified());
+        generator.writeStringField("createdBy", audited.createdBy());
+        generator.writeStringField("lastModifiedBy", audited.lastModifiedBy());
+        generator.writeNumberField("version", audited.version());
+      }
+
+      generator.writeEndObject();
+    } catch (final IOException exception) {
+      // The sink is an in-memory buffer, so this only signals a generator bug
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /** Writes the fields specific to {@code T}. */
+  protected abstract void writeFields(@Nonnull T entity, @Nonnull JsonGenerator generator)
+      throws IOException;
+
+  private static void writeDate(
+      @Nonnull final JsonGenerator generator, @Nonnull final String name, @Nullable final Date date)
+      throws IOException {
+    if (date == null) {
+      generator.writeNullField(name);
+    } else {
+      generator.writeStringField(name, date.toInstant().toString());
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package json;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import store.entity.User;
+
+@Singleton
+public class UserJsonWriter extends EntityJsonWriter<User> {
+  @Inject
+  public UserJsonWriter() {}
+
+  @Override
+  protected void writeFields(@Nonnull final User user, @Nonnull final JsonGenerator generator)
+      throws IOException {
+    generator.writeStringField("email", user.email());
+  }
+}
@@ -0,0 +1,63 @@
+package lifecycle;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resources to release at shutdown, registered by whichever component creates them. They are closed
+ * in reverse order of registration, one at a time on a worker thread, and a failure to close one
+ * does not stop the rest.
+ */
+@Slf4j
+@Singleton
+public class Closeables {
+  private final Deque<Entry> entries = new ArrayDeque<>();
+
+  @Inject
+  public Closeables() {}
+
+  public synchronized void register(
+      @Nonnull final String name, @Nonnull final AutoCloseable resource) {
+    entries.push(new Entry(name, resource));
+  }
+
+  @Nonnull
+  public Future<Void> closeAll(@Nonnull final Vertx vertx) {
+    var closed = Future.<Void>succeededFuture();
+
+    for (final var entry : drain()) {
+      closed = closed.eventually(() -> close(vertx, entry));
+    }
+
+    return closed;
+  }
+
+  @Nonnull
+  private synchronized Deque<Entry> drain() {
+    final var drained = new ArrayDeque<>(entries);
+    entries.clear();
+    return drained;
+  }
+
+  @Nonnull
+  private static Future<Void> close(@Nonnull final Vertx vertx, @Nonnull final Entry entry) {
+    return vertx
+        .<Void>executeBlocking(
+            () -> {
+              entry.resource().close();
+              return null;
+            })
+        .onSuccess(_ -> log.info("Closed {}", entry.name()))
+        .onFailure(exception -> log.warn("Failed to close {}", entry.name(), exception));
+  }
+
+  private record Entry(@Nonnull String name, @Nonnull AutoCloseable resource) {}
+}
@@ -0,0 +1,115 @@
+package lifecycle;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import health.HealthChecks;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import store.GelQueryMetrics;
+
+/**
+ * Stops the service without cutting off work in progress:
+ *
+ * <ol>
+ *   <li>readiness turns false, and the pod keeps serving for {@code
+ *       shutdown.readiness-delay-millis} while load balancers take it out of rotation;
+ *   <li>verticles are undeployed, and the HTTP servers stop accepting connections and let in-flight
+ *       requests finish;
+ *   <li>pending Gel queries are given until the drain deadline to complete;
+ *   <li>registered {@link Closeables}, including the Gel client pool, are closed, then Vert.x.
+ * </ol>
+ */
+@Slf4j
+@Singleton
+public class GracefulShutdown {
+  private static final long DEFAULT_READINESS_DELAY_MILLIS = 5000;
+  private static final long DEFAULT_DRAIN_TIMEOUT_MILLIS = 20_000;
+  private static final long QUERY_POLL_MILLIS = 50;
+
+  private final Vertx vertx;
+  private final HealthChecks healthChecks;
+  private final GelQueryMetrics gelQueryMetrics;
+  private final Closeables closeables;
+  private final long readinessDelayMillis;
+  private final long drainTimeoutMillis;
+
+  @Inject
+  public GracefulShutdown(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final HealthChecks healthChecks,
+      final GelQueryMetrics gelQueryMetrics,
+      final Closeables closeables) {
+    this.vertx = vertx;
+    this.healthChecks = healthChecks;
+    this.gelQueryMetrics = gelQueryMetrics;
+    this.closeables = closeables;
+    this.readinessDelayMillis =
+        config.getLong("shutdown.readiness-delay-millis", DEFAULT_READINESS_DELAY_MILLIS);
+    this.drainTimeoutMillis =
+        config.getLong("shutdown.drain-timeout-millis", DEFAULT_DRAIN_TIMEOUT_MILLIS);
+  }
+
+  /** Upper bound on {@link #run()}, for callers that have to block on it. */
+  public long timeoutMillis() {
+    return readinessDelayMillis + 2 * drainTimeoutMillis;
+  }
+
+  @Nonnull
+  public Future<Void> run() {
+    log.info("Shutting down; reporting not ready for {} ms", readinessDelayMillis);
+    healthChecks.drain();
+
+    // Timers reject a zero delay
+    final Future<?> notReady =
+        readinessDelayMillis > 0
+            ? vertx.timer(readinessDelayMillis, TimeUnit.MILLISECONDS)
+            : Future.succeededFuture();
+
+    return notReady
+        .compose(_ -> undeployAll())
+        .compose(_ -> awaitQueries())
+        .eventually(() -> closeables.closeAll(vertx))
+        .eventually(vertx::close)
+        .onSuccess(_ -> log.info("Shutdown complete"))
+        .onFailure(exception -> log.error("Shutdown did not complete cleanly", exception));
+  }
+
+  @Nonnull
+  private Future<Void> undeployAll() {
+    return Future.join(vertx.deploymentIDs().stream().map(vertx::undeploy).toList())
+        .onFailure(exception -> log.warn("Failed to undeploy verticles", exception))
+        .<Void>mapEmpty()
+        .otherwiseEmpty();
+  }
+
+  @Nonnull
+  private Future<Void> awaitQueries() {
+    final var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+    final Promise<Void> drained = Promise.promise();
+
+    poll(deadline, drained);
+    return drained.future();
+  }
+
+  private void poll(final long deadline, @Nonnull final Promise<Void> drained) {
+    final var pending = gelQueryMetrics.inFlight();
+
+    if (pending == 0) {
+      drained.complete();
+    } else if (System.nanoTime() >= deadline) {
+      log.warn("Abandoning {} Gel queries still in flight", pending);
+      drained.complete();
+    } else {
+      vertx.setTimer(QUERY_POLL_MILLIS, _ -> poll(deadline, drained));
+    }
+  }
+}
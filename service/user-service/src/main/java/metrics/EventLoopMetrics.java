@@ -0,0 +1,141 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.internal.VertxInternal;
+import io.vertx.core.internal.threadchecker.BlockedThreadEvent;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures event-loop lag as the delay between when a timer was due and when it ran, and
+ * utilization as the share of wall time each loop thread spent on CPU. Also counts Vert.x
+ * blocked-thread warnings.
+ */
+@Slf4j
+@Singleton
+public class EventLoopMetrics {
+  private static final long DEFAULT_INTERVAL_MILLIS = 100;
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private final Vertx vertx;
+  private final MeterRegistry registry;
+  private final long intervalMillis;
+  private final Counter blocked;
+  private final AtomicLong peakLagNanos = new AtomicLong();
+
+  @Inject
+  public EventLoopMetrics(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final MeterRegistry registry) {
+    this.vertx = vertx;
+    this.registry = registry;
+    this.intervalMillis =
+        config.getLong("metrics.event-loop.interval-millis", DEFAULT_INTERVAL_MILLIS);
+    this.blocked =
+        Counter.builder("vertx.blocked.threads")
+            .description("Blocked-thread warnings raised by the Vert.x checker")
+            .register(registry);
+
+    // Replaces the checker's logging handler, so the warning is logged here as well
+    ((VertxInternal) vertx).blockedThreadChecker().setThreadBlockedHandler(this::threadBlocked);
+  }
+
+  /** Starts sampling the calling verticle's event loop until it is undeployed. */
+  public void monitor() {
+    final var loop = Thread.currentThread().getName();
+    final var lag =
+        Timer.builder("vertx.event.loop.lag")
+            .description("Delay between a timer falling due and running")
+            .tag("loop", loop)
+            .publishPercentileHistogram()
+            .register(registry);
+    final var utilization = new Utilization();
+
+    Gauge.builder("vertx.event.loop.utilization", utilization, Utilization::value)
+        .description("Share of wall time the event loop spent on CPU")
+        .tag("loop", loop)
+        .register(registry);
+
+    schedule(lag, utilization);
+  }
+
+  /** Returns the highest lag seen on any loop since the previous call, and starts a new window. */
+  public long takePeakLagNanos() {
+    return peakLagNanos.getAndSet(0);
+  }
+
+  private void schedule(@Nonnull final Timer lag, @Nonnull final Utilization utilization) {
+    final var due = System.nanoTime() + Duration.ofMillis(intervalMillis).toNanos();
+
+    vertx.setTimer(
+        intervalMillis,
+        _ -> {
+          final var now = System.nanoTime();
+          final var lagNanos = Math.max(now - due, 0);
+
+          lag.record(Duration.ofNanos(lagNanos));
+          peakLagNanos.accumulateAndGet(lagNanos, Math::max);
+          utilization.sample(now);
+          schedule(lag, utilization);
+        });
+  }
+
+  private void threadBlocked(@Nonnull final BlockedThreadEvent event) {
+    blocked.increment();
+
+    final var message =
+        "Thread %s has been blocked for %d ms, time limit is %d ms"
+            .formatted(
+                event.thread().getName(),
+                event.duration() / 1_000_000,
+                event.maxExecTime() / 1_000_000);
+
+    if (event.duration() <= event.warningExceptionTime()) {
+      log.warn(message);
+      return;
+    }
+
+    final var stack = new VertxException("Thread blocked");
+    stack.setStackTrace(event.thread().getStackTrace());
+    log.warn(message, stack);
+  }
+
+  /** CPU share of the loop thread since the previous sample; only sampled on that thread. */
+  private static final class Utilization {
+    private long wall = System.nanoTime();
+    private long cpu = THREADS.getCurrentThreadCpuTime();
+    private volatile double value;
+
+    void sample(final long now) {
+      final var currentCpu = THREADS.getCurrentThreadCpuTime();
+
+      // -1 when the JVM does not support thread CPU time
+      if (currentCpu >= 0 && now > wall) {
+        value = Math.min((double) (currentCpu - cpu) / (now - wall), 1.0);
+      }
+
+      wall = now;
+      cpu = currentCpu;
+    }
+
+    double value() {
+      return value;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package metrics;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.VerticleBase;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import lombok.extern.slf4j.Slf4j;
+
+/** Serves the Prometheus scrape endpoint on {@code metrics.port}, apart from the public API. */
+@Slf4j
+public class MetricsVerticle extends VerticleBase {
+  public static final String METRICS_PATH = "/metrics";
+
+  private static final int DEFAULT_PORT = 9090;
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final JsonObject config;
+  private final PrometheusMeterRegistry registry;
+
+  @Inject
+  public MetricsVerticle(
+      @Named("envConfig") final JsonObject config, final PrometheusMeterRegistry registry) {
+    this.config = config;
+    this.registry = registry;
+  }
+
+  @Override
+  public Future<?> start() {
+    final var router = Router.router(vertx);
+
+    router.get(METRICS_PATH).handler(this::scrape);
+
+    final var options =
+        new HttpServerOptions()
+            .setPort(config.getInteger("metrics.port", DEFAULT_PORT))
+            .setHost(config.getString("server.host", "0.0.0.0"));
+
+    return vertx
+        .createHttpServer(options)
+        .requestHandler(router)
+        .listen()
+        .onSuccess(server -> log.info("Metrics listening on port {}", server.actualPort()));
+  }
+
+  private void scrape(final RoutingContext context) {
+    // Rendering walks every meter, so keep it off the event loop
+    vertx
+        .executeBlocking(registry::scrape, false)
+        .onSuccess(
+            body -> context.response().putHeader(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE).end(body))
+        .onFailure(context::fail);
+  }
+}
@@ -0,0 +1,71 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Records {@code http.server.requests} latency histograms tagged by method, route template and
+ * status. The template comes from {@link #route(String)}, placed on each route ahead of its own
+ * handlers but after any {@code BodyHandler}, so tags stay bounded however many distinct paths are
+ * requested.
+ *
+ * <p>Also publishes the number of requests in flight on this pod, a load signal for autoscaling
+ * once the custom metrics API serves it.
+ */
+@Singleton
+public class RequestMetrics {
+  private static final String ROUTE_KEY = RequestMetrics.class.getName() + ".route";
+  private static final String UNMATCHED = "unmatched";
+
+  private final MeterRegistry registry;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  @Inject
+  public RequestMetrics(final MeterRegistry registry) {
+    this.registry = registry;
+
+    Gauge.builder("http.server.requests.in.flight", inFlight, AtomicInteger::get)
+        .description("Requests received and not yet answered")
+        .register(registry);
+  }
+
+  /**
+   * Names the route a request matched. Register it ahead of the route's own handlers; Vert.x Web
+   * requires a {@code BodyHandler} to come before it.
+   */
+  @Nonnull
+  public static Handler<RoutingContext> route(@Nonnull final String template) {
+    return context -> {
+      context.put(ROUTE_KEY, template);
+      context.next();
+    };
+  }
+
+  /** Times every request; register it on the root router before any other route. */
+  public void handle(@Nonnull final RoutingContext context) {
+    final var sample = Timer.start(registry);
+
+    inFlight.incrementAndGet();
+    context.addEndHandler(
+        _ -> {
+          inFlight.decrementAndGet();
+          sample.stop(
+              Timer.builder("http.server.requests")
+                  .tag("method", context.request().method().name())
+                  .tag("route", context.get(ROUTE_KEY, UNMATCHED))
+                  .tag("status", Integer.toString(context.response().getStatusCode()))
+                  .publishPercentileHistogram()
+                  .register(registry));
+        });
+    context.next();
+  }
+}
@@ -4,6 +4,7 @@ import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nonnull;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
@@ -15,41 +16,70 @@ import dagger.Module;
 import dagger.Provides;
 import io.vertx.core.json.JsonObject;
 import lombok.extern.slf4j.Slf4j;
+import store.GelRole;
 
 @Slf4j
 @Module
 public class GelClientConfigModule {
   @Provides
   @Singleton
-  public static GelClientConfig getClientConfigProvider(
+  @Named("read")
+  public static GelClientConfig readClientConfigProvider(
       @Named("envConfig") final JsonObject config) {
-    log.info("Building GelClientConfig");
+    return clientConfig(config, GelRole.READ);
+  }
+
+  @Provides
+  @Singleton
+  @Named("write")
+  public static GelClientConfig writeClientConfigProvider(
+      @Named("envConfig") final JsonObject config) {
+    return clientConfig(config, GelRole.WRITE);
+  }
+
+  @Nonnull
+  private static GelClientConfig clientConfig(
+      @Nonnull final JsonObject config, @Nonnull final GelRole role) {
+    log.info("Building {} GelClientConfig", role.poolName());
 
     final var builder = GelClientConfig.builder();
 
-    if (config.containsKey("GEL_POOL_SIZE")) {
-      builder.withPoolSize(config.getInteger("GEL_POOL_SIZE"));
+    // The driver pool is sized to the maximum; AdaptiveGelQueryClient limits how much is used
+    final var poolSize = role.key(config, "POOL_MAX_SIZE", "POOL_SIZE");
+
+    if (poolSize != null) {
+      builder.withPoolSize(config.getInteger(poolSize));
     }
 
-    if (config.containsKey("GEL_RETRY_MODE")) {
-      builder.withRetryMode(ConnectionRetryMode.valueOf(config.getString("GEL_RETRY_MODE")));
+    final var retryMode = role.key(config, "RETRY_MODE");
+
+    if (retryMode != null) {
+      builder.withRetryMode(ConnectionRetryMode.valueOf(config.getString(retryMode)));
     }
 
-    if (config.containsKey("GEL_MAX_CONNECTION_RETRIES")) {
-      builder.withMaxConnectionRetries(config.getInteger("GEL_MAX_CONNECTION_RETRIES"));
+    final var maxConnectionRetries = role.key(config, "MAX_CONNECTION_RETRIES");
+
+    if (maxConnectionRetries != null) {
+      builder.withMaxConnectionRetries(config.getInteger(maxConnectionRetries));
     }
 
-    if (config.containsKey("GEL_MESSAGE_TIMEOUT")) {
-      builder.withMessageTimeout(config.getLong("GEL_MESSAGE_TIMEOUT"), TimeUnit.MILLISECONDS);
+    final var messageTimeout = role.key(config, "MESSAGE_TIMEOUT");
+
+    if (messageTimeout != null) {
+      builder.withMessageTimeout(config.getLong(messageTimeout), TimeUnit.MILLISECONDS);
     }
 
-    if (config.containsKey("GEL_CLIENT_AVAILABILITY")) {
-      builder.withClientAvailability(config.getInteger("GEL_CLIENT_AVAILABILITY"));
+    final var clientAvailability = role.key(config, "CLIENT_AVAILABILITY");
+
+    if (clientAvailability != null) {
+      builder.withClientAvailability(config.getInteger(clientAvailability));
     }
 
-    if (config.containsKey("GEL_CLIENT_MAX_AGE")) {
+    final var clientMaxAge = role.key(config, "CLIENT_MAX_AGE");
+
+    if (clientMaxAge != null) {
       builder.withClientMaxAge(
-          Duration.of(config.getInstant("GEL_CLIENT_MAX_AGE").toEpochMilli(), ChronoUnit.MILLIS));
+          Duration.of(config.getInstant(clientMaxAge).toEpochMilli(), ChronoUnit.MILLIS));
     }
 
     return builder
@@ -0,0 +1,44 @@
+package module;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import com.geldata.driver.GelClientConfig;
+import com.geldata.driver.GelClientPool;
+import com.geldata.driver.GelConnection;
+import dagger.Module;
+import dagger.Provides;
+import lifecycle.Closeables;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Module
+public class GelClientPoolModule {
+  @Provides
+  @Singleton
+  @Named("read")
+  public static GelClientPool readGelClientPoolProvider(
+      @Named("read") final GelConnection connection,
+      @Named("read") final GelClientConfig config,
+      final Closeables closeables) {
+    log.info("Building read GelClientPool");
+
+    final var pool = new GelClientPool(connection, config);
+    closeables.register("Gel read pool", pool);
+    return pool;
+  }
+
+  @Provides
+  @Singleton
+  @Named("write")
+  public static GelClientPool writeGelClientPoolProvider(
+      @Named("write") final GelConnection connection,
+      @Named("write") final GelClientConfig config,
+      final Closeables closeables) {
+    log.info("Building write GelClientPool");
+
+    final var pool = new GelClientPool(connection, config);
+    closeables.register("Gel write pool", pool);
+    return pool;
+  }
+}
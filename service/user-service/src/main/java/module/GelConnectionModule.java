@@ -1,5 +1,6 @@
 package module;
 
+import javax.annotation.Nonnull;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
@@ -8,59 +9,94 @@ import dagger.Module;
 import dagger.Provides;
 import io.vertx.core.json.JsonObject;
 import lombok.extern.slf4j.Slf4j;
+import store.GelRole;
 
 @Slf4j
 @Module
 public class GelConnectionModule {
   @Provides
   @Singleton
-  public static GelConnection gelConnectionProvider(@Named("envConfig") final JsonObject config) {
-    log.info("Building GelConnection");
+  @Named("read")
+  public static GelConnection readGelConnectionProvider(
+      @Named("envConfig") final JsonObject config) {
+    return connection(config, GelRole.READ);
+  }
+
+  @Provides
+  @Singleton
+  @Named("write")
+  public static GelConnection writeGelConnectionProvider(
+      @Named("envConfig") final JsonObject config) {
+    return connection(config, GelRole.WRITE);
+  }
+
+  /** Reads may point at a replica with GEL_READ_HOST, GEL_READ_PORT or GEL_READ_BRANCH. */
+  @Nonnull
+  private static GelConnection connection(
+      @Nonnull final JsonObject config, @Nonnull final GelRole role) {
+    log.info("Building {} GelConnection", role.poolName());
 
     final var builder = GelConnection.builder();
 
-    if (config.containsKey("GEL_HOST")) {
-      builder.withHost(config.getString("GEL_HOST"));
+    final var host = role.key(config, "HOST");
+
+    if (host != null) {
+      builder.withHost(config.getString(host));
     }
 
-    if (config.containsKey("GEL_PORT")) {
-      builder.withPort(config.getInteger("GEL_PORT"));
+    final var port = role.key(config, "PORT");
+
+    if (port != null) {
+      builder.withPort(config.getInteger(port));
     }
 
-    if (config.containsKey("GEL_BRANCH")) {
-      builder.withBranch(config.getString("GEL_BRANCH"));
+    final var branch = role.key(config, "BRANCH");
+
+    if (branch != null) {
+      builder.withBranch(config.getString(branch));
     }
 
     // todo secret
-    if (config.containsKey("GEL_USER")) {
-      builder.withUser(config.getString("GEL_USER"));
+    final var user = role.key(config, "USER");
+
+    if (user != null) {
+      builder.withUser(config.getString(user));
     }
 
     // todo secret
-    if (config.containsKey("GEL_PASSWORD")) {
-      builder.withPassword(config.getString("GEL_PASSWORD"));
+    final var password = role.key(config, "PASSWORD");
+
+    if (password != null) {
+      builder.withPassword(config.getString(password));
     }
 
     // todo secret
-    if (config.containsKey("GEL_TLS_SECURITY")) {
-      builder.withTLSSecurity(TLSSecurityMode.valueOf(config.getString("GEL_TLS_SECURITY")));
+    final var tlsSecurity = role.key(config, "TLS_SECURITY");
+
+    if (tlsSecurity != null) {
+      builder.withTLSSecurity(TLSSecurityMode.valueOf(config.getString(tlsSecurity)));
     }
 
     // todo secret
-    if (config.containsKey("GEL_TLS_CERTIFICATE_AUTHORITY")) {
-      builder.withTLSCertificateAuthority(config.getString("GEL_TLS_CERTIFICATE_AUTHORITY"));
+    final var tlsCertificateAuthority = role.key(config, "TLS_CERTIFICATE_AUTHORITY");
+
+    if (tlsCertificateAuthority != null) {
+      builder.withTLSCertificateAuthority(config.getString(tlsCertificateAuthority));
     }
 
     // todo secret
-    if (config.containsKey("GEL_TLS_SERVER_NAME")) {
-      builder.withTLSServerName(config.getString("GEL_TLS_SERVER_NAME"));
+    final var tlsServerName = role.key(config, "TLS_SERVER_NAME");
+
+    if (tlsServerName != null) {
+      builder.withTLSServerName(config.getString(tlsServerName));
     }
 
     try {
       return builder.build();
     } catch (final Exception exception) {
-      log.error("Failed to build GelConnection: {}", exception.getMessage());
-      throw new RuntimeException("Failed to build GelConnection", exception);
+      log.error("Failed to build {} GelConnection: {}", role.poolName(), exception.getMessage());
+      throw new RuntimeException(
+          "Failed to build " + role.poolName() + " GelConnection", exception);
     }
   }
 }
@@ -0,0 +1,68 @@
+package module;
+
+import javax.annotation.Nonnull;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import com.geldata.driver.GelClientConfig;
+import com.geldata.driver.GelClientPool;
+import dagger.Module;
+import dagger.Provides;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import store.AdaptiveGelQueryClient;
+import store.GelQueryClient;
+import store.GelRole;
+import store.PooledGelQueryClient;
+
+@Module
+public class GelQueryClientModule {
+  @Provides
+  @Singleton
+  @Named("read")
+  public static GelQueryClient readGelQueryClientProvider(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final MeterRegistry registry,
+      @Named("read") final GelClientConfig gelClientConfig,
+      @Named("read") final GelClientPool pool) {
+    return adaptive(
+        GelRole.READ, new PooledGelQueryClient(pool), gelClientConfig, config, vertx, registry);
+  }
+
+  @Provides
+  @Singleton
+  @Named("write")
+  public static GelQueryClient writeGelQueryClientProvider(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final MeterRegistry registry,
+      @Named("write") final GelClientConfig gelClientConfig,
+      @Named("write") final GelClientPool pool) {
+    return adaptive(
+        GelRole.WRITE, new PooledGelQueryClient(pool), gelClientConfig, config, vertx, registry);
+  }
+
+  /** Limits {@code client} to between the role's minimum size and its driver pool size. */
+  @Nonnull
+  public static GelQueryClient adaptive(
+      @Nonnull final GelRole role,
+      @Nonnull final GelQueryClient client,
+      @Nonnull final GelClientConfig gelClientConfig,
+      @Nonnull final JsonObject config,
+      @Nonnull final Vertx vertx,
+      @Nonnull final MeterRegistry registry) {
+    final var maxSize = gelClientConfig.getPoolSize();
+    final var minSize = role.key(config, "POOL_MIN_SIZE");
+
+    return new AdaptiveGelQueryClient(
+        role.poolName(),
+        client,
+        minSize == null ? Math.max(1, maxSize / 4) : config.getInteger(minSize),
+        maxSize,
+        config,
+        vertx,
+        registry);
+  }
+}
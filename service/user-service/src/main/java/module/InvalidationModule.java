@@ -0,0 +1,36 @@
+package module;
+
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import dagger.Module;
+import dagger.Provides;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import store.cache.invalidation.InvalidationTransport;
+import store.cache.invalidation.LocalInvalidationTransport;
+import store.cache.invalidation.PeerInvalidationTransport;
+import store.cache.invalidation.TransportType;
+
+@Slf4j
+@Module
+public class InvalidationModule {
+  @Provides
+  @Singleton
+  public static InvalidationTransport invalidationTransportProvider(
+      @Named("envConfig") final JsonObject config,
+      final Provider<LocalInvalidationTransport> localTransport,
+      final Provider<PeerInvalidationTransport> peerTransport) {
+    final var type =
+        TransportType.valueOf(
+            config.getString("cache.invalidation.transport", TransportType.LOCAL.name()));
+
+    log.info("Using {} cache invalidation transport", type);
+
+    return switch (type) {
+      case LOCAL -> localTransport.get();
+      case PEER -> peerTransport.get();
+    };
+  }
+}
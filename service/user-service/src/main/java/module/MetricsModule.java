@@ -0,0 +1,28 @@
+package module;
+
+import javax.inject.Singleton;
+
+import dagger.Module;
+import dagger.Provides;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Module
+public class MetricsModule {
+  @Provides
+  @Singleton
+  public static PrometheusMeterRegistry prometheusMeterRegistryProvider() {
+    log.info("Building PrometheusMeterRegistry");
+
+    return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+  }
+
+  @Provides
+  @Singleton
+  public static MeterRegistry meterRegistryProvider(final PrometheusMeterRegistry registry) {
+    return registry;
+  }
+}
@@ -0,0 +1,73 @@
+package module;
+
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import dagger.Module;
+import dagger.Provides;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import store.BatchingUserRepository;
+import store.CoalescingUserRepository;
+import store.ExecutionMode;
+import store.GelUserRepository;
+import store.UserRepository;
+import store.VirtualThreadUserRepository;
+import store.cache.CachingUserRepository;
+import store.cache.UserCache;
+import store.cache.invalidation.InvalidationTransport;
+
+@Slf4j
+@Module
+public class UserRepositoryModule {
+  private static final int DEFAULT_BATCH_MAX_SIZE = 100;
+  private static final long DEFAULT_BATCH_WINDOW_MILLIS = 0;
+
+  @Provides
+  @Singleton
+  public static UserRepository userRepositoryProvider(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final MeterRegistry registry,
+      final Provider<GelUserRepository> eventLoopRepository,
+      final Provider<VirtualThreadUserRepository> virtualThreadRepository,
+      final Provider<UserCache> userCache,
+      final Provider<InvalidationTransport> invalidationTransport) {
+    final var mode =
+        ExecutionMode.valueOf(
+            config.getString("store.execution.mode", ExecutionMode.EVENT_LOOP.name()));
+
+    log.info("Using {} user repository", mode);
+
+    UserRepository repository =
+        switch (mode) {
+          case EVENT_LOOP -> eventLoopRepository.get();
+          case VIRTUAL_THREAD -> virtualThreadRepository.get();
+        };
+
+    // Distinct id lookups on the same event loop share one query
+    if (config.getBoolean("store.batching.enabled", true)) {
+      repository =
+          new BatchingUserRepository(
+              repository,
+              config.getInteger("store.batching.max-size", DEFAULT_BATCH_MAX_SIZE),
+              config.getLong("store.batching.window-millis", DEFAULT_BATCH_WINDOW_MILLIS),
+              registry);
+    }
+
+    // Cache misses for the same key share one query
+    if (config.getBoolean("store.coalescing.enabled", true)) {
+      repository = new CoalescingUserRepository(vertx, repository, registry);
+    }
+
+    if (config.getBoolean("cache.users.enabled", true)) {
+      repository =
+          new CachingUserRepository(repository, userCache.get(), invalidationTransport.get());
+    }
+
+    return repository;
+  }
+}
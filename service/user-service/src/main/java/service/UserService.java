@@ -1,109 +1,187 @@
 package service;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.vertx.core.Future;
+import store.EmailFilter;
+import store.NewUser;
+import store.UserPatch;
+import store.UserRepository;
+import store.entity.User;
+
+/**
+ * User operations exposed over HTTP. Identifiers arrive as strings and are validated here; a
+ * malformed id fails the returned future with {@link IllegalArgumentException}.
+ */
+@Singleton
 public class UserService {
-  /*
-  public class GeldataWorkerVerticle extends AbstractVerticle {
-
-    // Define an Event Bus address for this service
-    public static final String GELDATA_QUERY_ADDRESS = "geldata.query.service";
-
-    private GelClientPool gelClientPool;
-
-    @Override
-    public void start(Promise<Void> startPromise) {
-        System.out.println("GeldataWorkerVerticle starting on thread: " + Thread.currentThread().getName());
-
-        // Initialize GelClientPool. In a real app, you might inject this or configure it.
-        gelClientPool = new GelClientPool();
+  private final UserRepository userRepository;
+  private final EmailFilter emailFilter;
+
+  @Inject
+  public UserService(final UserRepository userRepository, final EmailFilter emailFilter) {
+    this.userRepository = userRepository;
+    this.emailFilter = emailFilter;
+  }
+
+  @Nonnull
+  public Future<User> findById(@Nonnull final String id) {
+    return parseId(id).compose(userRepository::findById);
+  }
+
+  @Nonnull
+  public Future<User> findByEmail(@Nonnull final String email) {
+    return userRepository.findByEmail(email);
+  }
+
+  /**
+   * Completes with whether a user has {@code email}. Emails the {@link EmailFilter} has not seen
+   * are answered without a query; an email stored on another pod moments ago can still be reported
+   * as free, which the exclusive constraint catches at insert.
+   */
+  @Nonnull
+  public Future<Boolean> isEmailTaken(@Nonnull final String email) {
+    if (!emailFilter.mightContain(email)) {
+      return Future.succeededFuture(false);
+    }
 
-        // Register an Event Bus consumer for the geldata query address
-        vertx.eventBus().consumer(GELDATA_QUERY_ADDRESS, this::handleGeldataQuery);
+    return userRepository.findByEmail(email).map(Objects::nonNull);
+  }
 
-        startPromise.complete();
-    }
+  @Nonnull
+  public Future<User> create(@Nonnull final String email, @Nonnull final String createdBy) {
+    return userRepository.insert(email, createdBy).onSuccess(this::remember);
+  }
 
-    private void handleGeldataQuery(Message<String> message) {
-        String query = message.body(); // The message body is the query from the router verticle
-        System.out.println("GeldataWorkerVerticle received query: '" + query + "' on thread: " + Thread.currentThread().getName());
-
-        // Use executeBlocking to run the Geldata query, as it's a potentially blocking operation.
-        // This will run on a Vert.x worker thread, not this verticle's thread.
-        vertx.executeBlocking(
-            () -> {
-                // This code runs on a worker thread
-                System.out.println("Executing Geldata query (blocking) on worker thread: " + Thread.currentThread().getName());
-                // Simulate blocking I/O with Geldata
-                // The .join() here blocks the worker thread until the result is ready
-                return gelClientPool.querySingle(String.class, query).join();
-            },
-            false // Not an ordered operation
-        )
-        .onSuccess(result -> {
-            // This code runs back on the GeldataWorkerVerticle's event loop thread
-            System.out.println("Geldata query completed, replying with: '" + result + "' from thread: " + Thread.currentThread().getName());
-            message.reply(result); // Send the result back to the sender (HttpRouterVerticle)
-        })
-        .onFailure(error -> {
-            // This code runs back on the GeldataWorkerVerticle's event loop thread
-            System.err.println("Geldata query failed: " + error.getMessage() + " from thread: " + Thread.currentThread().getName());
-            // Reply with a failure status and message
-            message.fail(500, "Geldata query error: " + error.getMessage());
-        });
-    }
+  /**
+   * Applies {@code patch} if the user is still at {@code expectedVersion}. Fails with {@link
+   * VersionConflictException} if another write got there first, and completes with {@code null} if
+   * the user does not exist.
    */
-
-  /*
-  @Override
-    public void start(Promise<Void> startPromise) {
-        System.out.println("HttpRouterVerticle starting on thread: " + Thread.currentThread().getName());
-
-        Router router = Router.router(vertx);
-
-        // Define a route for handling Geldata queries
-        router.get("/query/geldata").handler(routingContext -> {
-            HttpServerResponse response = routingContext.response();
-            String userQuery = routingContext.request().getParam("sql"); // Get SQL from query param
-
-            if (userQuery == null || userQuery.isEmpty()) {
-                userQuery = "SELECT 'Default Data from Geldata!'"; // Default query
-            }
-
-            System.out.println("HttpRouterVerticle received HTTP request for query: '" + userQuery + "' on thread: " + Thread.currentThread().getName());
-
-            response.putHeader("content-type", "text/plain");
-
-            // Send a request to the GeldataWorkerVerticle via the Event Bus
-            // eventBus().request() returns a Future, which will be completed with the worker's reply
-            vertx.eventBus().request(GeldataWorkerVerticle.GELDATA_QUERY_ADDRESS, userQuery)
-                .onSuccess(reply -> {
-                    // This callback runs back on the HttpRouterVerticle's event loop thread
-                    System.out.println("HttpRouterVerticle received reply from worker: '" + reply.body() + "' on thread: " + Thread.currentThread().getName());
-                    response.end("Geldata Query Result:\n" + reply.body());
-                })
-                .onFailure(error -> {
-                    // This callback runs back on the HttpRouterVerticle's event loop thread
-                    System.err.println("HttpRouterVerticle received error from worker: " + error.getMessage() + " on thread: " + Thread.currentThread().getName());
-                    response.setStatusCode(500).end("Error querying Geldata: " + error.getMessage());
-                });
-        });
-
-        // Other routes can go here
-        router.get("/").handler(routingContext -> {
-            routingContext.response().end("Hello from HTTP Router! Try /query/geldata?sql=YOUR_QUERY_HERE");
-        });
-
-        // Start the HTTP server
-        vertx.createHttpServer()
-            .requestHandler(router)
-            .listen(8080, http -> {
-                if (http.succeeded()) {
-                    startPromise.complete();
-                    System.out.println("HTTP server started on port 8080");
-                } else {
-                    startPromise.fail(http.cause());
-                    System.err.println("HTTP server failed to start: " + http.cause().getMessage());
-                }
+  @Nonnull
+  public Future<User> update(
+      @Nonnull final String id,
+      final int expectedVersion,
+      @Nonnull final UserPatch patch,
+      @Nonnull final String modifiedBy) {
+    return parseId(id)
+        .compose(uuid -> updateOnce(uuid, expectedVersion, patch, modifiedBy))
+        .onSuccess(this::remember);
+  }
+
+  /**
+   * Reads the current user, derives a patch from it with {@code merge} and applies it
+   * conditionally, starting over on a version conflict up to {@code maxAttempts} times. Only for
+   * patches that stay correct when applied on top of a concurrent write.
+   */
+  @Nonnull
+  public Future<User> updateWithRetry(
+      @Nonnull final String id,
+      @Nonnull final Function<User, UserPatch> merge,
+      @Nonnull final String modifiedBy,
+      final int maxAttempts) {
+    return parseId(id)
+        .compose(uuid -> updateWithRetry(uuid, merge, modifiedBy, maxAttempts))
+        .onSuccess(this::remember);
+  }
+
+  /** Reads one page of users in {@code (created, id)} order, after {@code after} if given. */
+  @Nonnull
+  public Future<List<User>> page(@Nullable final User after, final int limit) {
+    return userRepository.findPage(after, limit);
+  }
+
+  /** Inserts a batch of users in one statement and completes with the number inserted. */
+  @Nonnull
+  public Future<Long> createAll(@Nonnull final List<NewUser> users) {
+    return userRepository
+        .insertAll(users)
+        .onSuccess(_ -> users.forEach(user -> emailFilter.put(user.email())));
+  }
+
+  @Nonnull
+  public Future<Boolean> delete(@Nonnull final String id) {
+    return parseId(id).compose(userRepository::delete);
+  }
+
+  @Nonnull
+  private Future<User> updateOnce(
+      @Nonnull final UUID id,
+      final int expectedVersion,
+      @Nonnull final UserPatch patch,
+      @Nonnull final String modifiedBy) {
+    return userRepository
+        .updateIfVersion(id, expectedVersion, patch, modifiedBy)
+        .compose(
+            updated -> {
+              if (updated != null) {
+                return Future.succeededFuture(updated);
+              }
+
+              // Only a missed update pays for a read, to tell a conflict from a missing user
+              return userRepository
+                  .findByIdForUpdate(id)
+                  .compose(
+                      current ->
+                          current == null
+                              ? Future.succeededFuture()
+                              : Future.failedFuture(
+                                  new VersionConflictException(current, expectedVersion)));
+            });
+  }
+
+  @Nonnull
+  private Future<User> updateWithRetry(
+      @Nonnull final UUID id,
+      @Nonnull final Function<User, UserPatch> merge,
+      @Nonnull final String modifiedBy,
+      final int attemptsLeft) {
+    // From the primary, so a retry never starts over from a replica's stale version
+    return userRepository
+        .findByIdForUpdate(id)
+        .compose(
+            current -> {
+              if (current == null) {
+                return Future.succeededFuture();
+              }
+
+              final var patch = merge.apply(current);
+
+              if (attemptsLeft <= 1) {
+                return updateOnce(id, current.version(), patch, modifiedBy);
+              }
+
+              return userRepository
+                  .updateIfVersion(id, current.version(), patch, modifiedBy)
+                  .compose(
+                      updated ->
+                          updated != null
+                              ? Future.succeededFuture(updated)
+                              : updateWithRetry(id, merge, modifiedBy, attemptsLeft - 1));
             });
+  }
+
+  /** Adds a stored user's email to the filter; a missing user stores nothing. */
+  private void remember(@Nullable final User user) {
+    if (user != null) {
+      emailFilter.put(user.email());
     }
-   */
+  }
+
+  @Nonnull
+  private static Future<UUID> parseId(@Nonnull final String id) {
+    try {
+      return Future.succeededFuture(UUID.fromString(id));
+    } catch (final IllegalArgumentException exception) {
+      return Future.failedFuture(exception);
+    }
+  }
 }
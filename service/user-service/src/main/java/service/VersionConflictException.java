@@ -0,0 +1,19 @@
+package service;
+
+import javax.annotation.Nonnull;
+
+import lombok.Getter;
+import store.entity.User;
+
+/** A conditional update named a version that is no longer current. */
+@Getter
+public class VersionConflictException extends RuntimeException {
+  private final transient User current;
+
+  public VersionConflictException(@Nonnull final User current, final int expectedVersion) {
+    super(
+        "User %s is at version %d, not %d"
+            .formatted(current.id(), current.version(), expectedVersion));
+    this.current = current;
+  }
+}
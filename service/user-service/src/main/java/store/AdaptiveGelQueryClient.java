@@ -0,0 +1,323 @@
+package store;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+import admission.GradientLimit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limits how many queries use a Gel pool at once, adjusting the limit between a minimum and the
+ * pool's size. The driver pool is sized once, at startup, to the maximum; queries beyond the
+ * current limit wait here in arrival order, so the time they wait is measured rather than hidden
+ * inside the driver.
+ *
+ * <p>Once per window the limit moves by the same {@link GradientLimit} as request admission, fed
+ * with the mean time queries held a slot. If that rises past {@code tolerance} times its long-run
+ * average, Gel itself is slowing down and more concurrency would only add to it, so the limit backs
+ * off. Otherwise it grows if queries waited longer than {@code target-wait-millis} on average, and
+ * gives one slot back if less than half of it was used at peak. A window in which nothing ran at
+ * all moves the limit halfway back to the minimum.
+ *
+ * <p>A pod therefore only holds on to as many connections as its load needs, rather than each of
+ * many replicas claiming a full pool from the Gel server.
+ *
+ * <p>A released slot goes straight to the oldest waiter. Waiters are started from a loop on the
+ * releasing thread, so queries that complete at once cannot recurse through a long queue.
+ */
+@Slf4j
+public class AdaptiveGelQueryClient implements GelQueryClient {
+  private static final long DEFAULT_WINDOW_MILLIS = 1000;
+  private static final long DEFAULT_TARGET_WAIT_MILLIS = 5;
+  private static final double DEFAULT_TOLERANCE = 2.0;
+  private static final double SMOOTHING = 1.0;
+
+  private final String pool;
+  private final GelQueryClient delegate;
+  private final GradientLimit limit;
+  private final long targetWaitNanos;
+  private final Queue<Runnable> waiting = new ArrayDeque<>();
+  private final ThreadLocal<Queue<Runnable>> starting = ThreadLocal.withInitial(ArrayDeque::new);
+  private final Timer waitTimer;
+  private final Timer usageTimer;
+
+  private int inUse;
+  private int peakInUse;
+  private long lastWaitCount;
+  private double lastWaitNanos;
+  private long lastUsageCount;
+  private double lastUsageNanos;
+
+  public AdaptiveGelQueryClient(
+      @Nonnull final String pool,
+      @Nonnull final GelQueryClient delegate,
+      final int minSize,
+      final int maxSize,
+      @Nonnull final JsonObject config,
+      @Nonnull final Vertx vertx,
+      @Nonnull final MeterRegistry registry) {
+    this.pool = pool;
+    this.delegate = delegate;
+    this.limit =
+        new GradientLimit(
+            minSize,
+            minSize,
+            maxSize,
+            config.getDouble("gel.pool.tolerance", DEFAULT_TOLERANCE),
+            SMOOTHING);
+    this.targetWaitNanos =
+        TimeUnit.MILLISECONDS.toNanos(
+            config.getLong("gel.pool.target-wait-millis", DEFAULT_TARGET_WAIT_MILLIS));
+
+    log.info("Gel pool '{}' limited to between {} and {} queries", pool, limit.limit(), maxSize);
+
+    Gauge.builder("gel.pool.size", () -> maxSize).tag("pool", pool).register(registry);
+    Gauge.builder("gel.pool.limit", this::limit)
+        .description("Queries currently allowed to use the pool at once")
+        .tag("pool", pool)
+        .register(registry);
+    Gauge.builder("gel.pool.connections", delegate::connectionCount)
+        .tag("pool", pool)
+        .register(registry);
+    Gauge.builder("gel.pool.in.use", this::inUse).tag("pool", pool).register(registry);
+    Gauge.builder("gel.pool.idle", () -> Math.max(limit() - inUse(), 0))
+        .tag("pool", pool)
+        .register(registry);
+    Gauge.builder("gel.pool.pending", this::pending).tag("pool", pool).register(registry);
+
+    waitTimer =
+        Timer.builder("gel.pool.wait")
+            .description("Time queries waited for a slot under the pool limit")
+            .tag("pool", pool)
+            .publishPercentileHistogram()
+            .register(registry);
+    usageTimer =
+        Timer.builder("gel.pool.usage")
+            .description("Time queries held a slot in the pool")
+            .tag("pool", pool)
+            .register(registry);
+
+    final var windowMillis = config.getLong("gel.pool.window-millis", DEFAULT_WINDOW_MILLIS);
+    vertx.setPeriodic(windowMillis, _ -> adjust());
+  }
+
+  @Nonnull
+  @Override
+  public <T> CompletionStage<List<T>> query(
+      @Nonnull final Class<T> type,
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args) {
+    return submit(() -> delegate.query(type, query, args));
+  }
+
+  @Nonnull
+  @Override
+  public <T> CompletionStage<T> querySingle(
+      @Nonnull final Class<T> type,
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args) {
+    return submit(() -> delegate.querySingle(type, query, args));
+  }
+
+  @Nonnull
+  @Override
+  public <T> CompletionStage<T> queryRequiredSingle(
+      @Nonnull final Class<T> type,
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args) {
+    return submit(() -> delegate.queryRequiredSingle(type, query, args));
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<Void> execute(
+      @Nonnull final String query, @Nonnull final Map<String, Object> args) {
+    return submit(() -> delegate.execute(query, args));
+  }
+
+  @Override
+  public int connectionCount() {
+    return delegate.connectionCount();
+  }
+
+  @Override
+  public void close() throws Exception {
+    delegate.close();
+  }
+
+  private int limit() {
+    return limit.limit();
+  }
+
+  private synchronized int inUse() {
+    return inUse;
+  }
+
+  private synchronized int pending() {
+    return waiting.size();
+  }
+
+  @Nonnull
+  private <T> CompletionStage<T> submit(@Nonnull final Supplier<CompletionStage<T>> call) {
+    final var result = new CompletableFuture<T>();
+    final var submitted = System.nanoTime();
+    final Runnable start = () -> run(call, submitted, result);
+
+    synchronized (this) {
+      if (inUse >= limit.limit() || !waiting.isEmpty()) {
+        waiting.add(start);
+        return result;
+      }
+
+      take();
+    }
+
+    start.run();
+    return result;
+  }
+
+  private <T> void run(
+      @Nonnull final Supplier<CompletionStage<T>> call,
+      final long submitted,
+      @Nonnull final CompletableFuture<T> result) {
+    final var acquired = System.nanoTime();
+    final CompletionStage<T> stage;
+
+    waitTimer.record(acquired - submitted, TimeUnit.NANOSECONDS);
+
+    try {
+      stage = call.get();
+    } catch (final RuntimeException exception) {
+      release(acquired);
+      result.completeExceptionally(exception);
+      return;
+    }
+
+    stage.whenComplete(
+        (value, failure) -> {
+          release(acquired);
+
+          if (failure == null) {
+            result.complete(value);
+          } else {
+            result.completeExceptionally(failure);
+          }
+        });
+  }
+
+  /** Must hold the lock. */
+  private void take() {
+    inUse++;
+    peakInUse = Math.max(peakInUse, inUse);
+  }
+
+  private void release(final long acquired) {
+    usageTimer.record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+
+    final Runnable next;
+
+    // Hand the slot straight to the oldest waiter, unless the limit has since dropped below it
+    synchronized (this) {
+      next = inUse <= limit.limit() ? waiting.poll() : null;
+
+      if (next == null) {
+        inUse--;
+      }
+    }
+
+    if (next != null) {
+      start(next);
+    }
+  }
+
+  /**
+   * Runs a waiter that was given a slot. One started while this thread is already starting another
+   * is queued and run by the outer call once that returns, instead of one stack frame deeper.
+   */
+  private void start(@Nonnull final Runnable waiter) {
+    final var queue = starting.get();
+
+    queue.add(waiter);
+
+    if (queue.size() > 1) {
+      return;
+    }
+
+    // The running waiter stays at the head until it returns, marking this thread as busy
+    for (var next = queue.peek(); next != null; next = queue.peek()) {
+      try {
+        next.run();
+      } finally {
+        queue.poll();
+      }
+    }
+  }
+
+  private void adjust() {
+    final var started = new ArrayList<Runnable>();
+
+    synchronized (this) {
+      final var waits = waitTimer.count() - lastWaitCount;
+      final var waitNanos = waitTimer.totalTime(TimeUnit.NANOSECONDS) - lastWaitNanos;
+      final var usages = usageTimer.count() - lastUsageCount;
+      final var usageNanos = usageTimer.totalTime(TimeUnit.NANOSECONDS) - lastUsageNanos;
+      final var peak = peakInUse;
+      final var current = limit.limit();
+
+      lastWaitCount += waits;
+      lastWaitNanos += waitNanos;
+      lastUsageCount += usages;
+      lastUsageNanos += usageNanos;
+      peakInUse = inUse;
+
+      final var latency = usages == 0 ? 0 : usageNanos / usages;
+      final var wait = waits == 0 ? 0 : waitNanos / waits;
+      final GradientLimit.Demand demand;
+
+      if (wait > targetWaitNanos) {
+        demand = GradientLimit.Demand.MORE;
+      } else if (peak < current / 2) {
+        demand = GradientLimit.Demand.LESS;
+      } else {
+        demand = GradientLimit.Demand.ENOUGH;
+      }
+
+      // Without any query in the window there is no latency to follow; a slow query still holding
+      // a slot is not idleness
+      final var idle = usages == 0 && waits == 0 && inUse == 0;
+      final var updated = idle ? limit.idle() : limit.update(latency, demand);
+
+      while (inUse < updated && !waiting.isEmpty()) {
+        take();
+        started.add(waiting.poll());
+      }
+
+      if (updated != current) {
+        log.debug(
+            "Gel pool '{}' limit {} -> {} (wait {} us, held {} us, long-run {} us)",
+            pool,
+            current,
+            updated,
+            (long) wait / 1000,
+            (long) latency / 1000,
+            (long) limit.longLatency() / 1000);
+      }
+    }
+
+    started.forEach(this::start);
+  }
+}
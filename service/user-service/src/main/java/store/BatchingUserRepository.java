@@ -0,0 +1,172 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import store.entity.User;
+
+/**
+ * Gathers id lookups made on the same event loop and loads them with one {@link
+ * UserRepository#findAllById} query. A batch is dispatched when it reaches {@code maxBatchSize} or
+ * when its window closes; a window of zero dispatches at the end of the current event-loop task.
+ * Each context owns its own batch, so batches need no locking.
+ */
+public class BatchingUserRepository implements UserRepository {
+  private final UserRepository delegate;
+  private final int maxBatchSize;
+  private final long windowMillis;
+  private final Map<Context, Batch> batches = new ConcurrentHashMap<>();
+  private final DistributionSummary batchSizes;
+
+  public BatchingUserRepository(
+      @Nonnull final UserRepository delegate,
+      final int maxBatchSize,
+      final long windowMillis,
+      @Nonnull final MeterRegistry registry) {
+    this.delegate = delegate;
+    this.maxBatchSize = maxBatchSize;
+    this.windowMillis = windowMillis;
+    this.batchSizes =
+        DistributionSummary.builder("user.lookups.batch.size")
+            .description("Id lookups loaded per batched query")
+            .register(registry);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findById(@Nonnull final UUID id) {
+    final var context = Vertx.currentContext();
+
+    // Batches are confined to a context; anything else goes straight through
+    if (context == null) {
+      return delegate.findById(id);
+    }
+
+    final Promise<User> promise = Promise.promise();
+    final var batch = batches.computeIfAbsent(context, _ -> new Batch());
+
+    batch.waiters.computeIfAbsent(id, _ -> new ArrayList<>()).add(promise);
+
+    if (batch.waiters.size() >= maxBatchSize) {
+      if (batch.timerId >= 0) {
+        context.owner().cancelTimer(batch.timerId);
+      }
+      dispatch(context);
+    } else if (batch.waiters.size() == 1) {
+      if (windowMillis > 0) {
+        batch.timerId = context.owner().setTimer(windowMillis, _ -> dispatch(context));
+      } else {
+        context.runOnContext(_ -> dispatch(context));
+      }
+    }
+
+    return promise.future();
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByIdForUpdate(@Nonnull final UUID id) {
+    return delegate.findByIdForUpdate(id);
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findAllById(@Nonnull final Collection<UUID> ids) {
+    return delegate.findAllById(ids);
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findPage(@Nullable final User after, final int limit) {
+    return delegate.findPage(after, limit);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByEmail(@Nonnull final String email) {
+    return delegate.findByEmail(email);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> insert(@Nonnull final String email, @Nonnull final String createdBy) {
+    return delegate.insert(email, createdBy);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> updateIfVersion(
+      @Nonnull final UUID id,
+      final int version,
+      @Nonnull final UserPatch patch,
+      @Nonnull final String modifiedBy) {
+    return delegate.updateIfVersion(id, version, patch, modifiedBy);
+  }
+
+  @Nonnull
+  @Override
+  public Future<Long> insertAll(@Nonnull final List<NewUser> users) {
+    return delegate.insertAll(users);
+  }
+
+  @Nonnull
+  @Override
+  public Future<Boolean> delete(@Nonnull final UUID id) {
+    return delegate.delete(id);
+  }
+
+  private void dispatch(@Nonnull final Context context) {
+    final var batch = batches.remove(context);
+
+    if (batch == null || batch.waiters.isEmpty()) {
+      return;
+    }
+
+    final var waiters = batch.waiters;
+    batchSizes.record(waiters.size());
+
+    Future<List<User>> result;
+
+    try {
+      result = delegate.findAllById(waiters.keySet());
+    } catch (final RuntimeException exception) {
+      result = Future.failedFuture(exception);
+    }
+
+    result
+        .onSuccess(
+            users -> {
+              final var byId = new HashMap<String, User>(users.size() * 2);
+              users.forEach(user -> byId.put(user.id(), user));
+
+              waiters.forEach(
+                  (id, promises) -> {
+                    final var user = byId.get(id.toString());
+                    promises.forEach(promise -> promise.complete(user));
+                  });
+            })
+        .onFailure(
+            exception ->
+                waiters.values().forEach(promises -> promises.forEach(p -> p.fail(exception))));
+  }
+
+  private static final class Batch {
+    private final Map<UUID, List<Promise<User>>> waiters = new LinkedHashMap<>();
+    private long timerId = -1;
+  }
+}
@@ -0,0 +1,131 @@
+package store;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import store.entity.User;
+
+/**
+ * Collapses concurrent identical lookups into one query. The first caller for a key runs the
+ * lookup; callers arriving while it is in flight share its result, delivered on their own context.
+ * Writes pass straight through.
+ */
+public class CoalescingUserRepository implements UserRepository {
+  private final Vertx vertx;
+  private final UserRepository delegate;
+  private final Map<UUID, Future<User>> byId = new ConcurrentHashMap<>();
+  private final Map<String, Future<User>> byEmail = new ConcurrentHashMap<>();
+  private final Counter coalesced;
+
+  public CoalescingUserRepository(
+      @Nonnull final Vertx vertx,
+      @Nonnull final UserRepository delegate,
+      @Nonnull final MeterRegistry registry) {
+    this.vertx = vertx;
+    this.delegate = delegate;
+    this.coalesced =
+        Counter.builder("user.lookups.coalesced")
+            .description("User lookups served by an identical query already in flight")
+            .register(registry);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findById(@Nonnull final UUID id) {
+    return coalesce(byId, id, delegate::findById);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByIdForUpdate(@Nonnull final UUID id) {
+    return delegate.findByIdForUpdate(id);
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findAllById(@Nonnull final Collection<UUID> ids) {
+    return delegate.findAllById(ids);
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findPage(@Nullable final User after, final int limit) {
+    return delegate.findPage(after, limit);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByEmail(@Nonnull final String email) {
+    return coalesce(byEmail, email, delegate::findByEmail);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> insert(@Nonnull final String email, @Nonnull final String createdBy) {
+    return delegate.insert(email, createdBy);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> updateIfVersion(
+      @Nonnull final UUID id,
+      final int version,
+      @Nonnull final UserPatch patch,
+      @Nonnull final String modifiedBy) {
+    return delegate.updateIfVersion(id, version, patch, modifiedBy);
+  }
+
+  @Nonnull
+  @Override
+  public Future<Long> insertAll(@Nonnull final List<NewUser> users) {
+    return delegate.insertAll(users);
+  }
+
+  @Nonnull
+  @Override
+  public Future<Boolean> delete(@Nonnull final UUID id) {
+    return delegate.delete(id);
+  }
+
+  @Nonnull
+  private <K> Future<User> coalesce(
+      @Nonnull final Map<K, Future<User>> inFlight,
+      @Nonnull final K key,
+      @Nonnull final Function<K, Future<User>> lookup) {
+    final Promise<User> promise = Promise.promise();
+    final var shared = inFlight.putIfAbsent(key, promise.future());
+
+    if (shared != null) {
+      coalesced.increment();
+      return Future.fromCompletionStage(shared.toCompletionStage(), vertx.getOrCreateContext());
+    }
+
+    Future<User> result;
+
+    try {
+      result = lookup.apply(key);
+    } catch (final RuntimeException exception) {
+      result = Future.failedFuture(exception);
+    }
+
+    result.onComplete(
+        outcome -> {
+          inFlight.remove(key, promise.future());
+          promise.handle(outcome);
+        });
+
+    return promise.future();
+  }
+}
@@ -0,0 +1,10 @@
+package store;
+
+import javax.annotation.Nonnull;
+
+/** A write would have given a user an email another user already has. */
+public class DuplicateEmailException extends RuntimeException {
+  public DuplicateEmailException(@Nonnull final String message, @Nonnull final Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,233 @@
+package store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import store.cache.invalidation.InvalidationTransport;
+import store.cache.invalidation.UserInvalidation;
+
+/**
+ * Bloom filter over every stored email, so most "is this email taken?" checks for new emails are
+ * answered without a query. It is rebuilt every {@code email-filter.rebuild-interval-seconds} from
+ * a keyset scan of emails on the primary. An email stored through any pod is added here as soon as
+ * it is stored, and sent to the other pods over the {@link InvalidationTransport}.
+ *
+ * <p>A negative answer is therefore not definite: an email stored on another pod reads as absent
+ * until its entry arrives, one invalidation batch later, and until the next rebuild if that batch
+ * is lost. The exclusive constraint on {@code User.email} still rejects a duplicate insert. Until
+ * the first rebuild completes, or when disabled, every email might be present.
+ */
+@Slf4j
+@Singleton
+public class EmailFilter {
+  private static final long DEFAULT_EXPECTED_EMAILS = 1_000_000;
+  private static final double DEFAULT_FPP = 0.01;
+  private static final long DEFAULT_REBUILD_INTERVAL_SECONDS = 300;
+  private static final long DEFAULT_PAGE_SIZE = 5000;
+  private static final double HEADROOM = 1.5;
+
+  private final GelExecutor gelExecutor;
+  private final InvalidationTransport transport;
+  private final boolean enabled;
+  private final long expectedEmails;
+  private final double fpp;
+  private final long pageSize;
+  private final Counter absent;
+  private final Counter present;
+  private final Timer rebuildTimer;
+
+  private volatile BloomFilter<String> filter;
+  private volatile BloomFilter<String> building;
+  private Future<Long> rebuilding;
+  private long lastCount;
+
+  @Inject
+  public EmailFilter(
+      @Named("envConfig") final JsonObject config,
+      final Vertx vertx,
+      final GelExecutor gelExecutor,
+      final InvalidationTransport transport,
+      final MeterRegistry registry) {
+    this.gelExecutor = gelExecutor;
+    this.transport = transport;
+    this.enabled = config.getBoolean("email-filter.enabled", true);
+    this.expectedEmails = config.getLong("email-filter.expected-emails", DEFAULT_EXPECTED_EMAILS);
+    this.fpp = config.getDouble("email-filter.fpp", DEFAULT_FPP);
+    this.pageSize = config.getLong("email-filter.page-size", DEFAULT_PAGE_SIZE);
+
+    absent = checks(registry, "absent");
+    present = checks(registry, "present");
+    rebuildTimer =
+        Timer.builder("users.email.filter.rebuild")
+            .description("Time to rebuild the email filter from a scan")
+            .register(registry);
+    Gauge.builder("users.email.filter.emails", this::approximateCount)
+        .description("Approximate number of emails in the filter")
+        .register(registry);
+    Gauge.builder("users.email.filter.fpp", this::expectedFpp)
+        .description("Current probability that an absent email is reported as present")
+        .register(registry);
+
+    if (!enabled) {
+      log.info("Email filter disabled");
+      return;
+    }
+
+    final var intervalMillis =
+        TimeUnit.SECONDS.toMillis(
+            config.getLong(
+                "email-filter.rebuild-interval-seconds", DEFAULT_REBUILD_INTERVAL_SECONDS));
+
+    // Entries with an email come from stores on this pod or a peer
+    transport.subscribe(
+        invalidation -> {
+          if (invalidation.email() != null) {
+            add(invalidation.email());
+          }
+        });
+
+    vertx.runOnContext(_ -> rebuild());
+    vertx.setPeriodic(intervalMillis, _ -> rebuild());
+  }
+
+  /**
+   * {@code false} if {@code email} is not stored as far as this pod has heard; see the class
+   * comment for how far behind that can be.
+   */
+  public boolean mightContain(@Nonnull final String email) {
+    final var current = filter;
+    final var result = current == null || current.mightContain(email);
+
+    (result ? present : absent).increment();
+    return result;
+  }
+
+  /** Records an email stored through this pod, here and on every peer. */
+  public void put(@Nonnull final String email) {
+    // Publishing delivers to this pod's own subscription too, which adds the email here
+    if (enabled) {
+      transport.publish(UserInvalidation.emailStored(email));
+    }
+  }
+
+  /** Adds a stored email, including to a filter that is being rebuilt. */
+  private void add(@Nonnull final String email) {
+    final var current = filter;
+    final var next = building;
+
+    if (current != null) {
+      current.put(email);
+    }
+
+    if (next != null) {
+      next.put(email);
+    }
+  }
+
+  /**
+   * Scans every email into a new filter and swaps it in, completing with the number scanned. A call
+   * while a rebuild is already running joins it.
+   */
+  @Nonnull
+  private synchronized Future<Long> rebuild() {
+    if (rebuilding != null) {
+      return rebuilding;
+    }
+
+    // Sized from the last scan so the false-positive rate holds as the table grows
+    final var next =
+        BloomFilter.<String>create(
+            Funnels.stringFunnel(StandardCharsets.UTF_8),
+            Math.max(expectedEmails, (long) (lastCount * HEADROOM)),
+            fpp);
+    final var start = System.nanoTime();
+
+    building = next;
+
+    final var scan =
+        scan(next, "", 0)
+            .onSuccess(count -> swap(next, count, start))
+            .onFailure(
+                failure -> log.warn("Email filter rebuild failed: {}", failure.getMessage()));
+
+    // Cleared only once set, in case the scan has already failed
+    rebuilding = scan;
+    scan.onComplete(_ -> clear());
+
+    return scan;
+  }
+
+  @Nonnull
+  private Future<Long> scan(
+      @Nonnull final BloomFilter<String> next, @Nonnull final String after, final long count) {
+    return gelExecutor
+        .query(QueryShapes.SELECT_EMAILS_AFTER, Map.of("after", after, "limit", pageSize))
+        .compose(
+            emails -> {
+              emails.forEach(next::put);
+
+              final var scanned = count + emails.size();
+
+              if (emails.size() < pageSize) {
+                return Future.succeededFuture(scanned);
+              }
+
+              return scan(next, emails.getLast(), scanned);
+            });
+  }
+
+  private synchronized void swap(
+      @Nonnull final BloomFilter<String> next, final long count, final long start) {
+    final var elapsed = System.nanoTime() - start;
+
+    filter = next;
+    lastCount = count;
+    rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+    log.info(
+        "Rebuilt email filter from {} emails in {} ms (expected fpp {})",
+        count,
+        TimeUnit.NANOSECONDS.toMillis(elapsed),
+        "%.4f".formatted(next.expectedFpp()));
+  }
+
+  private synchronized void clear() {
+    building = null;
+    rebuilding = null;
+  }
+
+  private long approximateCount() {
+    final var current = filter;
+    return current == null ? 0 : current.approximateElementCount();
+  }
+
+  private double expectedFpp() {
+    final var current = filter;
+    return current == null ? 1.0 : current.expectedFpp();
+  }
+
+  @Nonnull
+  private static Counter checks(
+      @Nonnull final MeterRegistry registry, @Nonnull final String result) {
+    return Counter.builder("users.email.filter.checks")
+        .description("Email checks answered by the filter, by whether a lookup was still needed")
+        .tag("result", result)
+        .register(registry);
+  }
+}
@@ -0,0 +1,10 @@
+package store;
+
+/** How the user store waits on Gel, selected by {@code store.execution.mode}. */
+public enum ExecutionMode {
+  /** Driver futures are chained on the calling event loop. */
+  EVENT_LOOP,
+
+  /** Blocking-style calls run on virtual threads, one per query. */
+  VIRTUAL_THREAD
+}
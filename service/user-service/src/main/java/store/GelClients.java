@@ -0,0 +1,86 @@
+package store;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Issues {@link QueryShape}s on the pool for their role, so long reads such as exports and page
+ * scans cannot hold the connections writes need. Arguments are checked against the shape's
+ * parameters first; a mismatch comes back as a failed stage.
+ */
+@Singleton
+public class GelClients {
+  private final GelQueryClient read;
+  private final GelQueryClient write;
+
+  @Inject
+  public GelClients(
+      @Named("read") final GelQueryClient read, @Named("write") final GelQueryClient write) {
+    this.read = read;
+    this.write = write;
+  }
+
+  @Nonnull
+  public <T> CompletionStage<List<T>> query(
+      @Nonnull final QueryShape<T> shape, @Nonnull final Map<String, Object> args) {
+    shape.check(args);
+    return client(shape).query(shape.resultType(), shape.query(), args);
+  }
+
+  /** Completes with {@code null} when the query returns no result. */
+  @Nonnull
+  public <T> CompletionStage<T> querySingle(
+      @Nonnull final QueryShape<T> shape, @Nonnull final Map<String, Object> args) {
+    shape.check(args);
+    return client(shape).querySingle(shape.resultType(), shape.query(), args);
+  }
+
+  @Nonnull
+  public <T> CompletionStage<T> queryRequiredSingle(
+      @Nonnull final QueryShape<T> shape, @Nonnull final Map<String, Object> args) {
+    shape.check(args);
+    return client(shape).queryRequiredSingle(shape.resultType(), shape.query(), args);
+  }
+
+  /** Runs {@code shape} the way its cardinality says it is used, discarding the result. */
+  @Nonnull
+  public CompletionStage<?> run(
+      @Nonnull final QueryShape<?> shape, @Nonnull final Map<String, Object> args) {
+    return switch (shape.cardinality()) {
+      case MANY -> query(shape, args);
+      case AT_MOST_ONE -> querySingle(shape, args);
+      case ONE -> queryRequiredSingle(shape, args);
+    };
+  }
+
+  /** Runs {@code shape} on every pool, failing if any of them does. */
+  @Nonnull
+  public CompletionStage<Void> runOnAll(
+      @Nonnull final QueryShape<?> shape, @Nonnull final Map<String, Object> args) {
+    shape.check(args);
+
+    return CompletableFuture.allOf(
+        List.of(read, write).stream()
+            .map(
+                client ->
+                    client
+                        .queryRequiredSingle(shape.resultType(), shape.query(), args)
+                        .toCompletableFuture())
+            .toArray(CompletableFuture[]::new));
+  }
+
+  @Nonnull
+  private GelQueryClient client(@Nonnull final QueryShape<?> shape) {
+    return switch (shape.role()) {
+      case READ -> read;
+      case WRITE -> write;
+    };
+  }
+}
@@ -0,0 +1,72 @@
+package store;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Runs queries on the Gel client pools without blocking. Driver results are adapted to Vert.x
+ * futures that complete on the caller's context, so in-flight queries are bounded by the pool size
+ * rather than by a worker pool.
+ */
+@Singleton
+public class GelExecutor {
+  private final Vertx vertx;
+  private final GelClients gelClients;
+  private final GelQueryMetrics metrics;
+
+  @Inject
+  public GelExecutor(
+      final Vertx vertx, final GelClients gelClients, final GelQueryMetrics metrics) {
+    this.vertx = vertx;
+    this.gelClients = gelClients;
+    this.metrics = metrics;
+  }
+
+  @Nonnull
+  public <T> Future<List<T>> query(
+      @Nonnull final QueryShape<T> shape, @Nonnull final Map<String, Object> args) {
+    return adapt(shape, () -> gelClients.query(shape, args));
+  }
+
+  /** Completes with {@code null} when the query returns no result. */
+  @Nonnull
+  public <T> Future<T> querySingle(
+      @Nonnull final QueryShape<T> shape, @Nonnull final Map<String, Object> args) {
+    return adapt(shape, () -> gelClients.querySingle(shape, args));
+  }
+
+  @Nonnull
+  public <T> Future<T> queryRequiredSingle(
+      @Nonnull final QueryShape<T> shape, @Nonnull final Map<String, Object> args) {
+    return adapt(shape, () -> gelClients.queryRequiredSingle(shape, args));
+  }
+
+  /** Runs {@code shape} as its cardinality says it is used, discarding the result. */
+  @Nonnull
+  public Future<Void> run(
+      @Nonnull final QueryShape<?> shape, @Nonnull final Map<String, Object> args) {
+    return adapt(shape, () -> gelClients.run(shape, args)).mapEmpty();
+  }
+
+  /** Pings every pool, failing if any of them does not answer. */
+  @Nonnull
+  public Future<Void> ping() {
+    return adapt(QueryShapes.PING, () -> gelClients.runOnAll(QueryShapes.PING, Map.of()));
+  }
+
+  @Nonnull
+  private <T> Future<T> adapt(
+      @Nonnull final QueryShape<?> shape, @Nonnull final Supplier<CompletionStage<T>> call) {
+    // Synchronous driver failures come back as a failed stage
+    return Future.fromCompletionStage(metrics.time(shape, call), vertx.getOrCreateContext());
+  }
+}
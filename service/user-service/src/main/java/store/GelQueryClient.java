@@ -0,0 +1,32 @@
+package store;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The part of the Gel client the store issues queries through. Production binds it to the driver's
+ * pool; load tests bind an in-process stand-in so the service runs without a Gel server.
+ */
+public interface GelQueryClient extends AutoCloseable {
+  @Nonnull
+  <T> CompletionStage<List<T>> query(
+      @Nonnull Class<T> type, @Nonnull String query, @Nonnull Map<String, Object> args);
+
+  /** Completes with {@code null} when the query returns no result. */
+  @Nonnull
+  <T> CompletionStage<T> querySingle(
+      @Nonnull Class<T> type, @Nonnull String query, @Nonnull Map<String, Object> args);
+
+  @Nonnull
+  <T> CompletionStage<T> queryRequiredSingle(
+      @Nonnull Class<T> type, @Nonnull String query, @Nonnull Map<String, Object> args);
+
+  @Nonnull
+  CompletionStage<Void> execute(@Nonnull String query, @Nonnull Map<String, Object> args);
+
+  /** Connections currently open. */
+  int connectionCount();
+}
@@ -0,0 +1,111 @@
+package store;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every Gel query by statement shape and counts the queries in flight. Pool occupancy and
+ * wait are measured per pool by {@link AdaptiveGelQueryClient}; {@link #waitTotals()} sums them.
+ */
+@Singleton
+public class GelQueryMetrics {
+  private final MeterRegistry registry;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  @Inject
+  public GelQueryMetrics(final MeterRegistry registry) {
+    this.registry = registry;
+
+    // Every shape is known up front, so each has its series from the first scrape
+    QueryShapes.ALL.forEach(shape -> timers.put(shape.name(), timer(shape.name())));
+  }
+
+  /** Queries submitted and not yet completed, including those waiting for a pool slot. */
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Cumulative count and latency of completed queries, across every statement shape except the
+   * health check's {@link QueryShapes#PING}, which is not load and would dilute the signal.
+   */
+  @Nonnull
+  public Totals totals() {
+    return sum(
+        timers.entrySet().stream()
+            .filter(entry -> !entry.getKey().equals(QueryShapes.PING.name()))
+            .map(Map.Entry::getValue)
+            .toList());
+  }
+
+  /** Cumulative count and time of pool waits, across every pool. */
+  @Nonnull
+  public Totals waitTotals() {
+    return sum(registry.find("gel.pool.wait").timers());
+  }
+
+  /** Runs {@code call} as {@code shape}, timing it under the shape's name. */
+  @Nonnull
+  public <T> CompletionStage<T> time(
+      @Nonnull final QueryShape<?> shape, @Nonnull final Supplier<CompletionStage<T>> call) {
+    final var timer = timers.computeIfAbsent(shape.name(), this::timer);
+    final var start = System.nanoTime();
+
+    inFlight.incrementAndGet();
+
+    final CompletionStage<T> stage;
+
+    try {
+      stage = call.get();
+    } catch (final RuntimeException exception) {
+      completed(timer, start);
+      return CompletableFuture.failedFuture(exception);
+    }
+
+    return stage.whenComplete((_, _) -> completed(timer, start));
+  }
+
+  private void completed(@Nonnull final Timer timer, final long start) {
+    timer.record(Duration.ofNanos(System.nanoTime() - start));
+    inFlight.decrementAndGet();
+  }
+
+  @Nonnull
+  private Timer timer(@Nonnull final String shape) {
+    return Timer.builder("gel.query")
+        .description("Gel query latency by statement shape")
+        .tag("shape", shape)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  @Nonnull
+  private static Totals sum(@Nonnull final Collection<Timer> timers) {
+    var count = 0L;
+    var nanos = 0.0;
+
+    for (final var timer : timers) {
+      count += timer.count();
+      nanos += timer.totalTime(TimeUnit.NANOSECONDS);
+    }
+
+    return new Totals(count, (long) nanos);
+  }
+
+  public record Totals(long count, long nanos) {}
+}
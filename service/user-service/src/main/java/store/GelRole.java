@@ -0,0 +1,49 @@
+package store;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Which side of the user store a Gel connection and pool serve. Each has its own {@code GEL_READ_*}
+ * or {@code GEL_WRITE_*} settings, falling back to the shared {@code GEL_*} ones.
+ */
+public enum GelRole {
+  /** Lookups, pages and exports; may target a replica host or branch. */
+  READ,
+
+  /** Inserts, updates and deletes, on a small pool of their own. */
+  WRITE;
+
+  /**
+   * Returns the first configured key among {@code settings}, preferring this role's {@code
+   * GEL_<ROLE>_<setting>} over the shared {@code GEL_<setting>}, or {@code null} if none is set.
+   */
+  @Nullable
+  public String key(@Nonnull final JsonObject config, @Nonnull final String... settings) {
+    for (final var setting : settings) {
+      final var key = "GEL_" + name() + "_" + setting;
+
+      if (config.containsKey(key)) {
+        return key;
+      }
+    }
+
+    for (final var setting : settings) {
+      final var key = "GEL_" + setting;
+
+      if (config.containsKey(key)) {
+        return key;
+      }
+    }
+
+    return null;
+  }
+
+  /** Name used to tag this role's pool metrics. */
+  @Nonnull
+  public String poolName() {
+    return name().toLowerCase();
+  }
+}
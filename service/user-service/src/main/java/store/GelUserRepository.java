@@ -0,0 +1,101 @@
+package store;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.vertx.core.Future;
+import lombok.extern.slf4j.Slf4j;
+import store.entity.User;
+
+@Slf4j
+@Singleton
+public class GelUserRepository implements UserRepository {
+  private final GelExecutor gelExecutor;
+
+  @Inject
+  public GelUserRepository(final GelExecutor gelExecutor) {
+    this.gelExecutor = gelExecutor;
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findById(@Nonnull final UUID id) {
+    return gelExecutor.querySingle(QueryShapes.SELECT_BY_ID, Map.of("id", id));
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByIdForUpdate(@Nonnull final UUID id) {
+    return gelExecutor.querySingle(QueryShapes.SELECT_BY_ID_FOR_UPDATE, Map.of("id", id));
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findAllById(@Nonnull final Collection<UUID> ids) {
+    return gelExecutor.query(QueryShapes.SELECT_BY_IDS, Map.of("ids", ids.toArray(UUID[]::new)));
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findPage(@Nullable final User after, final int limit) {
+    return gelExecutor.query(UserQueries.pageQuery(after), UserQueries.pageArgs(after, limit));
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByEmail(@Nonnull final String email) {
+    return gelExecutor.querySingle(QueryShapes.SELECT_BY_EMAIL, Map.of("email", email));
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> insert(@Nonnull final String email, @Nonnull final String createdBy) {
+    log.debug("Inserting user {}", email);
+
+    return gelExecutor
+        .queryRequiredSingle(
+            QueryShapes.INSERT,
+            Map.of("email", email, "created_by", createdBy, "last_modified_by", createdBy))
+        .recover(UserQueries::duplicateEmail);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> updateIfVersion(
+      @Nonnull final UUID id,
+      final int version,
+      @Nonnull final UserPatch patch,
+      @Nonnull final String modifiedBy) {
+    log.debug("Updating user {} at version {}", id, version);
+
+    return gelExecutor
+        .querySingle(
+            QueryShapes.UPDATE_IF_VERSION, UserQueries.updateArgs(id, version, patch, modifiedBy))
+        .recover(UserQueries::duplicateEmail);
+  }
+
+  @Nonnull
+  @Override
+  public Future<Long> insertAll(@Nonnull final List<NewUser> users) {
+    log.debug("Inserting {} users", users.size());
+
+    return gelExecutor
+        .queryRequiredSingle(QueryShapes.INSERT_ALL, UserQueries.insertAllArgs(users))
+        .recover(UserQueries::duplicateEmail);
+  }
+
+  @Nonnull
+  @Override
+  public Future<Boolean> delete(@Nonnull final UUID id) {
+    log.debug("Deleting user {}", id);
+
+    return gelExecutor.queryRequiredSingle(QueryShapes.DELETE, Map.of("id", id));
+  }
+}
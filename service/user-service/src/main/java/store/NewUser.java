@@ -0,0 +1,7 @@
+package store;
+
+import javax.annotation.Nonnull;
+
+/** A user to insert. {@code created} and {@code last_modified} are filled in by the schema. */
+public record NewUser(
+    @Nonnull String email, @Nonnull String createdBy, @Nonnull String lastModifiedBy) {}
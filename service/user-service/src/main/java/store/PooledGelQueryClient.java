@@ -0,0 +1,62 @@
+package store;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nonnull;
+
+import com.geldata.driver.GelClientPool;
+
+/** {@link GelQueryClient} backed by the driver's {@link GelClientPool}. */
+public class PooledGelQueryClient implements GelQueryClient {
+  private final GelClientPool pool;
+
+  public PooledGelQueryClient(@Nonnull final GelClientPool pool) {
+    this.pool = pool;
+  }
+
+  @Nonnull
+  @Override
+  public <T> CompletionStage<List<T>> query(
+      @Nonnull final Class<T> type,
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args) {
+    return pool.query(type, query, args);
+  }
+
+  @Nonnull
+  @Override
+  public <T> CompletionStage<T> querySingle(
+      @Nonnull final Class<T> type,
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args) {
+    return pool.querySingle(type, query, args);
+  }
+
+  @Nonnull
+  @Override
+  public <T> CompletionStage<T> queryRequiredSingle(
+      @Nonnull final Class<T> type,
+      @Nonnull final String query,
+      @Nonnull final Map<String, Object> args) {
+    return pool.queryRequiredSingle(type, query, args);
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<Void> execute(
+      @Nonnull final String query, @Nonnull final Map<String, Object> args) {
+    return pool.execute(query, args);
+  }
+
+  @Override
+  public int connectionCount() {
+    return pool.getClientCount();
+  }
+
+  @Override
+  public void close() throws Exception {
+    pool.close();
+  }
+}
@@ -0,0 +1,68 @@
+package store;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * One EdgeQL statement, declared once in {@link QueryShapes} with everything needed to issue it: a
+ * low-cardinality name for metrics, the pool it runs on, how many results it returns, and the type
+ * of each parameter. Issuing the same text with the same cardinality every time lets Gel answer
+ * from its compiled-query cache.
+ *
+ * @param warmUpArgs arguments that make the statement a no-op, used to compile it ahead of traffic;
+ *     {@code null} if it cannot be run harmlessly
+ */
+public record QueryShape<T>(
+    @Nonnull String name,
+    @Nonnull GelRole role,
+    @Nonnull Cardinality cardinality,
+    @Nonnull Class<T> resultType,
+    @Nonnull String query,
+    @Nonnull List<Param> params,
+    @Nullable Map<String, Object> warmUpArgs) {
+
+  public enum Cardinality {
+    MANY,
+    AT_MOST_ONE,
+    ONE
+  }
+
+  /** A named query parameter; an optional one may be passed as {@code null}. */
+  public record Param(@Nonnull String name, @Nonnull Class<?> type, boolean optional) {
+    @Nonnull
+    public static Param required(@Nonnull final String name, @Nonnull final Class<?> type) {
+      return new Param(name, type, false);
+    }
+
+    @Nonnull
+    public static Param optional(@Nonnull final String name, @Nonnull final Class<?> type) {
+      return new Param(name, type, true);
+    }
+  }
+
+  /**
+   * Checks that {@code args} supplies exactly the declared parameters, each of its declared type. A
+   * mismatch is a programming error, so it fails as {@link IllegalStateException}.
+   */
+  public void check(@Nonnull final Map<String, Object> args) {
+    if (args.size() != params.size()) {
+      throw new IllegalStateException(
+          "Query " + name + " takes " + params.size() + " parameters, got " + args.keySet());
+    }
+
+    for (final var param : params) {
+      final var value = args.get(param.name());
+
+      final var missing = value == null && !(param.optional() && args.containsKey(param.name()));
+      final var mistyped = value != null && !param.type().isInstance(value);
+
+      if (missing || mistyped) {
+        throw new IllegalStateException(
+            "Query " + name + " needs " + param.type().getSimpleName() + " $" + param.name());
+      }
+    }
+  }
+}
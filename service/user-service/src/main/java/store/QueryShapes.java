@@ -0,0 +1,224 @@
+package store;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import lombok.NoArgsConstructor;
+import store.QueryShape.Cardinality;
+import store.QueryShape.Param;
+import store.entity.User;
+
+/**
+ * Registry of every statement the service issues against Gel. Nothing else builds EdgeQL, so the
+ * set of compiled queries is fixed and can be warmed at startup by {@link QueryWarmer}.
+ *
+ * <p>Warm-up arguments target a nil id or an empty batch, so running them reads or changes nothing;
+ * {@link #INSERT} has no harmless form and is compiled by its first use.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public final class QueryShapes {
+  private static final String USER =
+      "{ id, email, created, last_modified, created_by, last_modified_by, version }";
+  private static final UUID NIL = new UUID(0, 0);
+  private static final OffsetDateTime EPOCH =
+      OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  public static final QueryShape<Long> PING =
+      new QueryShape<>(
+          "gel.ping", GelRole.WRITE, Cardinality.ONE, Long.class, "select 1", List.of(), Map.of());
+
+  public static final QueryShape<User> SELECT_BY_ID =
+      new QueryShape<>(
+          "user.select_by_id",
+          GelRole.READ,
+          Cardinality.AT_MOST_ONE,
+          User.class,
+          "select User " + USER + " filter .id = <uuid>$id",
+          List.of(Param.required("id", UUID.class)),
+          Map.of("id", NIL));
+
+  /**
+   * {@link #SELECT_BY_ID} on the write role, for a read that an update is about to be based on; a
+   * replica may not have the latest version yet. The redundant {@code limit 1} keeps its text, and
+   * so its registration, distinct.
+   */
+  public static final QueryShape<User> SELECT_BY_ID_FOR_UPDATE =
+      new QueryShape<>(
+          "user.select_by_id_for_update",
+          GelRole.WRITE,
+          Cardinality.AT_MOST_ONE,
+          User.class,
+          "select User " + USER + " filter .id = <uuid>$id limit 1",
+          List.of(Param.required("id", UUID.class)),
+          Map.of("id", NIL));
+
+  public static final QueryShape<User> SELECT_BY_IDS =
+      new QueryShape<>(
+          "user.select_by_ids",
+          GelRole.READ,
+          Cardinality.MANY,
+          User.class,
+          "select User " + USER + " filter .id in array_unpack(<array<uuid>>$ids)",
+          List.of(Param.required("ids", UUID[].class)),
+          Map.of("ids", new UUID[] {NIL}));
+
+  public static final QueryShape<User> SELECT_BY_EMAIL =
+      new QueryShape<>(
+          "user.select_by_email",
+          GelRole.READ,
+          Cardinality.AT_MOST_ONE,
+          User.class,
+          "select User " + USER + " filter .email = <str>$email limit 1",
+          List.of(Param.required("email", String.class)),
+          Map.of("email", ""));
+
+  public static final QueryShape<User> INSERT =
+      new QueryShape<>(
+          "user.insert",
+          GelRole.WRITE,
+          Cardinality.ONE,
+          User.class,
+          "select (insert User { email := <str>$email, created_by := <str>$created_by,"
+              + " last_modified_by := <str>$last_modified_by }) "
+              + USER,
+          List.of(
+              Param.required("email", String.class),
+              Param.required("created_by", String.class),
+              Param.required("last_modified_by", String.class)),
+          null);
+
+  /** First keyset page in {@code (created, id)} order. */
+  public static final QueryShape<User> SELECT_FIRST_PAGE =
+      new QueryShape<>(
+          "user.select_first_page",
+          GelRole.READ,
+          Cardinality.MANY,
+          User.class,
+          "select User " + USER + " order by .created then .id limit <int64>$limit",
+          List.of(Param.required("limit", Long.class)),
+          Map.of("limit", 0L));
+
+  /**
+   * Keyset page following the row {@code $id}. That row's {@code created} is read on the server,
+   * because Gel keeps microseconds and the client's copy only has milliseconds; comparing against
+   * the truncated value would return the cursor row and its neighbours again. {@code $created} is
+   * only a fallback for a cursor row deleted since it was read.
+   */
+  public static final QueryShape<User> SELECT_PAGE_AFTER =
+      new QueryShape<>(
+          "user.select_page_after",
+          GelRole.READ,
+          Cardinality.MANY,
+          User.class,
+          "with cursor_created := (select detached User filter .id = <uuid>$id).created"
+              + " ?? <datetime>$created"
+              + " select User "
+              + USER
+              + " filter .created > cursor_created"
+              + " or (.created = cursor_created and .id > <uuid>$id)"
+              + " order by .created then .id limit <int64>$limit",
+          List.of(
+              Param.required("created", OffsetDateTime.class),
+              Param.required("id", UUID.class),
+              Param.required("limit", Long.class)),
+          Map.of("created", EPOCH, "id", NIL, "limit", 0L));
+
+  /**
+   * Emails only, in keyset order on the exclusive email index; start from the empty string. Runs on
+   * the write role, since an email a lagging replica has not seen yet would be missing from the
+   * filter built from the scan.
+   */
+  public static final QueryShape<String> SELECT_EMAILS_AFTER =
+      new QueryShape<>(
+          "user.select_emails_after",
+          GelRole.WRITE,
+          Cardinality.MANY,
+          String.class,
+          "with emails := User.email select emails filter emails > <str>$after"
+              + " order by emails limit <int64>$limit",
+          List.of(Param.required("after", String.class), Param.required("limit", Long.class)),
+          Map.of("after", "", "limit", 0L));
+
+  /** Inserts one row per array index; the arrays are parallel columns of the batch. */
+  public static final QueryShape<Long> INSERT_ALL =
+      new QueryShape<>(
+          "user.insert_all",
+          GelRole.WRITE,
+          Cardinality.ONE,
+          Long.class,
+          "with emails := <array<str>>$emails,"
+              + " created_by := <array<str>>$created_by,"
+              + " last_modified_by := <array<str>>$last_modified_by"
+              + " select count(for i in range_unpack(range(0, len(emails))) union ("
+              + "insert User { email := emails[i], created_by := created_by[i],"
+              + " last_modified_by := last_modified_by[i] }))",
+          List.of(
+              Param.required("emails", String[].class),
+              Param.required("created_by", String[].class),
+              Param.required("last_modified_by", String[].class)),
+          Map.of(
+              "emails", new String[0],
+              "created_by", new String[0],
+              "last_modified_by", new String[0]));
+
+  /** Applies a patch only if the stored version still matches, bumping it in the same statement. */
+  public static final QueryShape<User> UPDATE_IF_VERSION =
+      new QueryShape<>(
+          "user.update_if_version",
+          GelRole.WRITE,
+          Cardinality.AT_MOST_ONE,
+          User.class,
+          "select (update User filter .id = <uuid>$id and .version = <int32>$version set {"
+              + " email := <optional str>$email ?? .email,"
+              + " last_modified_by := <str>$last_modified_by,"
+              + " version := .version + 1 }) "
+              + USER,
+          List.of(
+              Param.required("id", UUID.class),
+              Param.required("version", Integer.class),
+              Param.optional("email", String.class),
+              Param.required("last_modified_by", String.class)),
+          Map.of("id", NIL, "version", 0, "email", "", "last_modified_by", ""));
+
+  public static final QueryShape<Boolean> DELETE =
+      new QueryShape<>(
+          "user.delete",
+          GelRole.WRITE,
+          Cardinality.ONE,
+          Boolean.class,
+          "select exists (delete User filter .id = <uuid>$id)",
+          List.of(Param.required("id", UUID.class)),
+          Map.of("id", NIL));
+
+  public static final List<QueryShape<?>> ALL =
+      List.of(
+          PING,
+          SELECT_BY_ID,
+          SELECT_BY_ID_FOR_UPDATE,
+          SELECT_BY_IDS,
+          SELECT_BY_EMAIL,
+          INSERT,
+          SELECT_FIRST_PAGE,
+          SELECT_PAGE_AFTER,
+          SELECT_EMAILS_AFTER,
+          INSERT_ALL,
+          UPDATE_IF_VERSION,
+          DELETE);
+
+  private static final Map<String, QueryShape<?>> BY_QUERY =
+      ALL.stream().collect(Collectors.toUnmodifiableMap(QueryShape::query, Function.identity()));
+
+  /** The registered shape issuing {@code query}, or {@code null} for unregistered text. */
+  @Nullable
+  public static QueryShape<?> of(@Nonnull final String query) {
+    return BY_QUERY.get(query);
+  }
+}
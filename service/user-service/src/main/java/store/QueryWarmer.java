@@ -0,0 +1,62 @@
+package store;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.vertx.core.Future;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gets Gel to compile every registered statement before the pod takes traffic, by running each
+ * {@link QueryShape} that has warm-up arguments once on its own pool. The first real requests then
+ * hit the server's compiled-query cache instead of paying for compilation.
+ */
+@Slf4j
+@Singleton
+public class QueryWarmer {
+  private final GelExecutor gelExecutor;
+
+  private Future<Void> warming;
+
+  @Inject
+  public QueryWarmer(final GelExecutor gelExecutor) {
+    this.gelExecutor = gelExecutor;
+  }
+
+  /**
+   * Runs every warmable shape once, failing if any of them does so the caller can try again. A call
+   * while a warm-up is already running joins it.
+   */
+  @Nonnull
+  public synchronized Future<Void> warm() {
+    if (warming != null) {
+      return warming;
+    }
+
+    final var shapes =
+        QueryShapes.ALL.stream().filter(shape -> shape.warmUpArgs() != null).toList();
+    final var start = System.nanoTime();
+
+    warming =
+        Future.all(
+                shapes.stream().map(shape -> gelExecutor.run(shape, shape.warmUpArgs())).toList())
+            .<Void>mapEmpty()
+            .onSuccess(
+                _ ->
+                    log.info(
+                        "Warmed {} query shapes in {} ms",
+                        shapes.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)))
+            .onFailure(failure -> log.warn("Query warm-up failed: {}", failure.getMessage()))
+            .onComplete(_ -> clear());
+
+    return warming;
+  }
+
+  private synchronized void clear() {
+    warming = null;
+  }
+}
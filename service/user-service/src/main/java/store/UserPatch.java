@@ -0,0 +1,6 @@
+package store;
+
+import javax.annotation.Nullable;
+
+/** Fields to change on a user; {@code null} leaves a field as it is. */
+public record UserPatch(@Nullable String email) {}
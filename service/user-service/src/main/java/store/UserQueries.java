@@ -0,0 +1,86 @@
+package store;
+
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.geldata.driver.exceptions.GelErrorException;
+import io.vertx.core.Future;
+import lombok.NoArgsConstructor;
+import store.entity.User;
+
+/** Arguments for the {@code User} statements in {@link QueryShapes}. */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+final class UserQueries {
+  // Gel's ConstraintViolationError text; the exclusive constraint on email is the only one on User
+  private static final String EXCLUSIVITY_VIOLATION = "violates exclusivity constraint";
+
+  @Nonnull
+  static QueryShape<User> pageQuery(@Nullable final User after) {
+    return after == null ? QueryShapes.SELECT_FIRST_PAGE : QueryShapes.SELECT_PAGE_AFTER;
+  }
+
+  @Nonnull
+  static Map<String, Object> pageArgs(@Nullable final User after, final int limit) {
+    if (after == null) {
+      return Map.of("limit", (long) limit);
+    }
+
+    // The server resolves the cursor's full-precision created from its id
+    return Map.of(
+        "created", after.created().toInstant().atOffset(ZoneOffset.UTC),
+        "id", UUID.fromString(after.id()),
+        "limit", (long) limit);
+  }
+
+  @Nonnull
+  static Map<String, Object> updateArgs(
+      @Nonnull final UUID id,
+      final int version,
+      @Nonnull final UserPatch patch,
+      @Nonnull final String modifiedBy) {
+    // Absent patch fields are passed as null, which Map.of cannot hold; the query's ?? keeps the
+    // stored value
+    final var args = new HashMap<String, Object>();
+    args.put("id", id);
+    args.put("version", version);
+    args.put("email", patch.email());
+    args.put("last_modified_by", modifiedBy);
+    return args;
+  }
+
+  @Nonnull
+  static Map<String, Object> insertAllArgs(@Nonnull final List<NewUser> users) {
+    return Map.of(
+        "emails", users.stream().map(NewUser::email).toArray(String[]::new),
+        "created_by", users.stream().map(NewUser::createdBy).toArray(String[]::new),
+        "last_modified_by", users.stream().map(NewUser::lastModifiedBy).toArray(String[]::new));
+  }
+
+  /**
+   * Recovers a write that failed on the exclusive email constraint as a {@link
+   * DuplicateEmailException}; any other failure is passed on unchanged.
+   */
+  @Nonnull
+  static <T> Future<T> duplicateEmail(@Nonnull final Throwable failure) {
+    var cause = failure;
+
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+
+    if (cause instanceof GelErrorException
+        && cause.getMessage() != null
+        && cause.getMessage().contains(EXCLUSIVITY_VIOLATION)) {
+      return Future.failedFuture(new DuplicateEmailException("Email is already taken", cause));
+    }
+
+    return Future.failedFuture(failure);
+  }
+}
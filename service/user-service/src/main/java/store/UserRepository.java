@@ -0,0 +1,58 @@
+package store;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.vertx.core.Future;
+import store.entity.User;
+
+/** Data access for {@link User}. Lookups complete with {@code null} when no user matches. */
+public interface UserRepository {
+  @Nonnull
+  Future<User> findById(@Nonnull UUID id);
+
+  /**
+   * Reads the latest committed copy of a user from the primary, bypassing any cache or batching,
+   * for an update to be based on.
+   */
+  @Nonnull
+  Future<User> findByIdForUpdate(@Nonnull UUID id);
+
+  /** Completes with the users that exist among {@code ids}, in no particular order. */
+  @Nonnull
+  Future<List<User>> findAllById(@Nonnull Collection<UUID> ids);
+
+  /**
+   * Completes with up to {@code limit} users ordered by {@code (created, id)}, starting after
+   * {@code after}, or from the first user when it is {@code null}.
+   */
+  @Nonnull
+  Future<List<User>> findPage(@Nullable User after, int limit);
+
+  @Nonnull
+  Future<User> findByEmail(@Nonnull String email);
+
+  @Nonnull
+  Future<User> insert(@Nonnull String email, @Nonnull String createdBy);
+
+  /**
+   * Applies {@code patch} if the user is still at {@code version}, incrementing the version in the
+   * same statement. Completes with the updated user, or {@code null} when the user is missing or at
+   * another version.
+   */
+  @Nonnull
+  Future<User> updateIfVersion(
+      @Nonnull UUID id, int version, @Nonnull UserPatch patch, @Nonnull String modifiedBy);
+
+  /** Inserts {@code users} in one statement and completes with the number inserted. */
+  @Nonnull
+  Future<Long> insertAll(@Nonnull List<NewUser> users);
+
+  /** Completes with {@code true} when a user was deleted. */
+  @Nonnull
+  Future<Boolean> delete(@Nonnull UUID id);
+}
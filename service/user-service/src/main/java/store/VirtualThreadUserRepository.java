@@ -0,0 +1,154 @@
+package store;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import lifecycle.Closeables;
+import lombok.extern.slf4j.Slf4j;
+import store.entity.User;
+
+/**
+ * Runs each query as plain blocking code on its own virtual thread. Waiting on the driver parks the
+ * virtual thread instead of a platform thread, and the result is handed back on the caller's
+ * context.
+ */
+@Slf4j
+@Singleton
+public class VirtualThreadUserRepository implements UserRepository {
+  private final Vertx vertx;
+  private final GelClients gelClients;
+  private final GelQueryMetrics metrics;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @Inject
+  public VirtualThreadUserRepository(
+      final Vertx vertx,
+      final GelClients gelClients,
+      final GelQueryMetrics metrics,
+      final Closeables closeables) {
+    this.vertx = vertx;
+    this.gelClients = gelClients;
+    this.metrics = metrics;
+
+    // Closing waits for queries already running on virtual threads
+    closeables.register("virtual-thread executor", executor);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findById(@Nonnull final UUID id) {
+    return submit(
+        QueryShapes.SELECT_BY_ID, (clients, shape) -> clients.querySingle(shape, Map.of("id", id)));
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByIdForUpdate(@Nonnull final UUID id) {
+    return submit(
+        QueryShapes.SELECT_BY_ID_FOR_UPDATE,
+        (clients, shape) -> clients.querySingle(shape, Map.of("id", id)));
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findAllById(@Nonnull final Collection<UUID> ids) {
+    return submit(
+        QueryShapes.SELECT_BY_IDS,
+        (clients, shape) -> clients.query(shape, Map.of("ids", ids.toArray(UUID[]::new))));
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findPage(@Nullable final User after, final int limit) {
+    return submit(
+        UserQueries.pageQuery(after),
+        (clients, shape) -> clients.query(shape, UserQueries.pageArgs(after, limit)));
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByEmail(@Nonnull final String email) {
+    return submit(
+        QueryShapes.SELECT_BY_EMAIL,
+        (clients, shape) -> clients.querySingle(shape, Map.of("email", email)));
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> insert(@Nonnull final String email, @Nonnull final String createdBy) {
+    log.debug("Inserting user {}", email);
+
+    return submit(
+            QueryShapes.INSERT,
+            (clients, shape) ->
+                clients.queryRequiredSingle(
+                    shape,
+                    Map.of("email", email, "created_by", createdBy, "last_modified_by", createdBy)))
+        .recover(UserQueries::duplicateEmail);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> updateIfVersion(
+      @Nonnull final UUID id,
+      final int version,
+      @Nonnull final UserPatch patch,
+      @Nonnull final String modifiedBy) {
+    log.debug("Updating user {} at version {}", id, version);
+
+    return submit(
+            QueryShapes.UPDATE_IF_VERSION,
+            (clients, shape) ->
+                clients.querySingle(shape, UserQueries.updateArgs(id, version, patch, modifiedBy)))
+        .recover(UserQueries::duplicateEmail);
+  }
+
+  @Nonnull
+  @Override
+  public Future<Long> insertAll(@Nonnull final List<NewUser> users) {
+    log.debug("Inserting {} users", users.size());
+
+    return submit(
+            QueryShapes.INSERT_ALL,
+            (clients, shape) ->
+                clients.queryRequiredSingle(shape, UserQueries.insertAllArgs(users)))
+        .recover(UserQueries::duplicateEmail);
+  }
+
+  @Nonnull
+  @Override
+  public Future<Boolean> delete(@Nonnull final UUID id) {
+    log.debug("Deleting user {}", id);
+
+    return submit(
+        QueryShapes.DELETE,
+        (clients, shape) -> clients.queryRequiredSingle(shape, Map.of("id", id)));
+  }
+
+  /** Issues {@code shape} from a virtual thread, blocking it until the driver completes. */
+  @Nonnull
+  private <S, T> Future<T> submit(
+      @Nonnull final QueryShape<S> shape,
+      @Nonnull final BiFunction<GelClients, QueryShape<S>, CompletionStage<T>> call) {
+    final var context = vertx.getOrCreateContext();
+    final Supplier<T> task =
+        () -> metrics.time(shape, () -> call.apply(gelClients, shape)).toCompletableFuture().join();
+
+    return Future.fromCompletionStage(CompletableFuture.supplyAsync(task, executor), context);
+  }
+}
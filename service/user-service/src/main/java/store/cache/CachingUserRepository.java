@@ -0,0 +1,141 @@
+package store.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.vertx.core.Future;
+import store.NewUser;
+import store.UserPatch;
+import store.UserRepository;
+import store.cache.invalidation.InvalidationTransport;
+import store.cache.invalidation.UserInvalidation;
+import store.entity.User;
+
+/**
+ * Serves user lookups from {@link UserCache} and keeps it current on writes. Every write is
+ * published on the {@link InvalidationTransport} so other pods evict their older copies.
+ */
+public class CachingUserRepository implements UserRepository {
+  private final UserRepository delegate;
+  private final UserCache cache;
+  private final InvalidationTransport transport;
+
+  public CachingUserRepository(
+      @Nonnull final UserRepository delegate,
+      @Nonnull final UserCache cache,
+      @Nonnull final InvalidationTransport transport) {
+    this.delegate = delegate;
+    this.cache = cache;
+    this.transport = transport;
+
+    // Email-only entries are for the email filter and carry no id
+    transport.subscribe(
+        invalidation -> {
+          if (invalidation.id() != null) {
+            cache.invalidate(invalidation.id(), invalidation.version());
+          }
+        });
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findById(@Nonnull final UUID id) {
+    final var cached = cache.getById(id.toString());
+
+    if (cached != null) {
+      return Future.succeededFuture(cached);
+    }
+
+    return delegate.findById(id).onSuccess(this::cache);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByIdForUpdate(@Nonnull final UUID id) {
+    return delegate.findByIdForUpdate(id);
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findAllById(@Nonnull final Collection<UUID> ids) {
+    return delegate.findAllById(ids).onSuccess(users -> users.forEach(this::cache));
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findPage(@Nullable final User after, final int limit) {
+    return delegate.findPage(after, limit);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByEmail(@Nonnull final String email) {
+    final var cached = cache.getByEmail(email);
+
+    if (cached != null) {
+      return Future.succeededFuture(cached);
+    }
+
+    return delegate.findByEmail(email).onSuccess(this::cache);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> insert(@Nonnull final String email, @Nonnull final String createdBy) {
+    return delegate.insert(email, createdBy).onSuccess(this::written);
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> updateIfVersion(
+      @Nonnull final UUID id,
+      final int version,
+      @Nonnull final UserPatch patch,
+      @Nonnull final String modifiedBy) {
+    return delegate
+        .updateIfVersion(id, version, patch, modifiedBy)
+        .onSuccess(
+            user -> {
+              if (user != null) {
+                written(user);
+              } else {
+                // The caller's version was stale, so ours may be too
+                cache.evict(id.toString());
+              }
+            });
+  }
+
+  @Nonnull
+  @Override
+  public Future<Long> insertAll(@Nonnull final List<NewUser> users) {
+    return delegate.insertAll(users);
+  }
+
+  @Nonnull
+  @Override
+  public Future<Boolean> delete(@Nonnull final UUID id) {
+    return delegate
+        .delete(id)
+        .onSuccess(
+            deleted -> {
+              if (deleted) {
+                transport.publish(UserInvalidation.deleted(id.toString()));
+              }
+            });
+  }
+
+  private void written(@Nonnull final User user) {
+    cache.put(user);
+    transport.publish(new UserInvalidation(user.id(), user.version()));
+  }
+
+  private void cache(final User user) {
+    if (user != null) {
+      cache.put(user);
+    }
+  }
+}
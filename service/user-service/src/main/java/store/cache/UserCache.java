@@ -0,0 +1,149 @@
+package store.cache;
+
+import java.time.Duration;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.vertx.core.json.JsonObject;
+import json.UserJsonWriter;
+import lombok.extern.slf4j.Slf4j;
+import store.entity.User;
+
+/**
+ * Bounded per-pod cache of {@link User} records keyed by id, with a secondary email index. The
+ * entity {@code version} decides which copy wins: a put never replaces a newer cached copy, and a
+ * versioned invalidation only evicts copies older than the given version.
+ *
+ * <p>Invalidations also leave a version floor behind, so a read that was already in flight when the
+ * write happened cannot put the stale copy back.
+ *
+ * <p>Each entry carries its JSON encoding, produced once at put time, so a cache hit can be written
+ * to the response without serializing again.
+ */
+@Slf4j
+@Singleton
+public class UserCache {
+  private static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+  private static final long DEFAULT_TTL_SECONDS = 300;
+
+  private final UserJsonWriter writer;
+  private final Cache<String, CachedUser> byId;
+  private final Cache<String, String> idByEmail;
+  private final Cache<String, Integer> floors;
+
+  @Inject
+  public UserCache(
+      @Named("envConfig") final JsonObject config,
+      final MeterRegistry registry,
+      final UserJsonWriter writer) {
+    this.writer = writer;
+
+    final var maximumSize = config.getLong("cache.users.maximum-size", DEFAULT_MAXIMUM_SIZE);
+    final var ttl =
+        Duration.ofSeconds(config.getLong("cache.users.ttl-seconds", DEFAULT_TTL_SECONDS));
+
+    log.info("Building user cache (maximum size {}, ttl {})", maximumSize, ttl);
+
+    byId =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    idByEmail =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    floors = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+
+    GuavaCacheMetrics.monitor(registry, byId, "users_by_id");
+    GuavaCacheMetrics.monitor(registry, idByEmail, "users_by_email");
+  }
+
+  @Nullable
+  public User getById(@Nonnull final String id) {
+    final var cached = byId.getIfPresent(id);
+    return cached == null ? null : cached.user();
+  }
+
+  /**
+   * Returns the JSON encoding of {@code user} if the cache holds that same version, otherwise
+   * {@code null}.
+   */
+  @Nullable
+  public byte[] encoded(@Nonnull final User user) {
+    final var cached = byId.getIfPresent(user.id());
+    return cached != null && cached.user().version() == user.version() ? cached.json() : null;
+  }
+
+  @Nullable
+  public User getByEmail(@Nonnull final String email) {
+    final var id = idByEmail.getIfPresent(email);
+
+    if (id == null) {
+      return null;
+    }
+
+    // The index may still point at a user whose email has since changed
+    final var cached = byId.getIfPresent(id);
+    return cached != null && email.equals(cached.user().email()) ? cached.user() : null;
+  }
+
+  public void put(@Nonnull final User user) {
+    final var entry = new CachedUser(user, writer.encode(user).getBytes());
+
+    // The floor is read under the entry's lock, which invalidate() also takes after raising it, so
+    // either the floor rejects this copy or the invalidation evicts it afterwards
+    final var cached =
+        byId.asMap()
+            .compute(
+                user.id(),
+                (_, current) -> {
+                  final var floor = floors.getIfPresent(user.id());
+
+                  if (floor != null && user.version() < floor) {
+                    return current;
+                  }
+
+                  return current == null ? entry : newer(current, entry);
+                });
+
+    if (cached == entry) {
+      idByEmail.put(user.email(), user.id());
+    }
+  }
+
+  /** Evicts the cached copy of {@code id} if it is older than {@code version}. */
+  public void invalidate(@Nonnull final String id, final int version) {
+    // Raised before the eviction; put() relies on that order
+    floors.asMap().merge(id, version, Math::max);
+    byId.asMap()
+        .computeIfPresent(id, (_, cached) -> cached.user().version() >= version ? cached : null);
+  }
+
+  /**
+   * Evicts the cached copy of {@code id} without leaving a floor, for when the copy is known to be
+   * stale but the current version is not.
+   */
+  public void evict(@Nonnull final String id) {
+    byId.invalidate(id);
+  }
+
+  @Nonnull
+  private static CachedUser newer(
+      @Nonnull final CachedUser cached, @Nonnull final CachedUser candidate) {
+    return candidate.user().version() >= cached.user().version() ? candidate : cached;
+  }
+
+  private record CachedUser(@Nonnull User user, @Nonnull byte[] json) {}
+}
@@ -0,0 +1,21 @@
+package store.cache.invalidation;
+
+import javax.annotation.Nonnull;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+/**
+ * Carries {@link UserInvalidation}s from the pod that wrote a user to every pod caching it, and
+ * stored emails to every pod's email filter.
+ */
+public interface InvalidationTransport {
+  /** Announces a local write to every subscriber, local and remote. */
+  @Nonnull
+  Future<Void> publish(@Nonnull UserInvalidation invalidation);
+
+  /** Hands an invalidation received from another pod to the local subscribers. */
+  void receive(@Nonnull UserInvalidation invalidation);
+
+  void subscribe(@Nonnull Handler<UserInvalidation> handler);
+}
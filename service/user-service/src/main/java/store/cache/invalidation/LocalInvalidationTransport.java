@@ -0,0 +1,45 @@
+package store.cache.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import lombok.extern.slf4j.Slf4j;
+
+/** Delivers invalidations to subscribers in this JVM only. Used for single-pod runs and tests. */
+@Slf4j
+@Singleton
+public class LocalInvalidationTransport implements InvalidationTransport {
+  private final List<Handler<UserInvalidation>> handlers = new CopyOnWriteArrayList<>();
+
+  @Inject
+  public LocalInvalidationTransport() {}
+
+  @Nonnull
+  @Override
+  public Future<Void> publish(@Nonnull final UserInvalidation invalidation) {
+    receive(invalidation);
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public void receive(@Nonnull final UserInvalidation invalidation) {
+    for (final var handler : handlers) {
+      try {
+        handler.handle(invalidation);
+      } catch (final RuntimeException exception) {
+        log.warn("Invalidation handler failed for {}", invalidation, exception);
+      }
+    }
+  }
+
+  @Override
+  public void subscribe(@Nonnull final Handler<UserInvalidation> handler) {
+    handlers.add(handler);
+  }
+}
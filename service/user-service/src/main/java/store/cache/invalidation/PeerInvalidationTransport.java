@@ -0,0 +1,162 @@
+package store.cache.invalidation;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import lifecycle.Closeables;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fans invalidations out to the other pods over HTTP. Peers are the addresses behind the headless
+ * service, which lists pods whether or not they are ready, re-resolved periodically, and
+ * invalidations published within a short window are sent as one batch per peer, split so a burst
+ * such as a bulk import stays under the receiver's body limit. Delivery is best effort; the cache
+ * TTL bounds staleness if a batch is lost.
+ */
+@Slf4j
+@Singleton
+public class PeerInvalidationTransport extends LocalInvalidationTransport {
+  public static final String INVALIDATIONS_PATH = "/internal/cache/invalidations";
+
+  private static final String DEFAULT_PEERS_HOST =
+      "user-service-headless.user-service.svc.cluster.local";
+  private static final int DEFAULT_PEERS_PORT = 8080;
+  private static final long DEFAULT_REFRESH_SECONDS = 10;
+  private static final long DEFAULT_BATCH_MILLIS = 20;
+  private static final int MAX_BATCH_SIZE = 1000;
+  private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+  private final Vertx vertx;
+  private final HttpClient client;
+  private final String peersHost;
+  private final int peersPort;
+  private final long batchMillis;
+  private final String selfAddress = System.getenv("POD_IP");
+  private final Queue<UserInvalidation> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+  private volatile List<String> peers = List.of();
+
+  @Inject
+  public PeerInvalidationTransport(
+      final Vertx vertx, @Named("envConfig") final JsonObject config, final Closeables closeables) {
+    this.vertx = vertx;
+    this.peersHost = config.getString("cache.invalidation.peers.host", DEFAULT_PEERS_HOST);
+    this.peersPort = config.getInteger("cache.invalidation.peers.port", DEFAULT_PEERS_PORT);
+    this.batchMillis = config.getLong("cache.invalidation.batch-millis", DEFAULT_BATCH_MILLIS);
+    this.client = vertx.createHttpClient(new HttpClientOptions().setKeepAlive(true));
+
+    final var refreshMillis =
+        1000 * config.getLong("cache.invalidation.peers.refresh-seconds", DEFAULT_REFRESH_SECONDS);
+    vertx.setPeriodic(0, refreshMillis, _ -> refreshPeers());
+
+    // Sends whatever is still batched, and waits for it, before Vert.x closes the client
+    closeables.register(
+        "cache invalidation transport",
+        () ->
+            flush()
+                .toCompletionStage()
+                .toCompletableFuture()
+                .get(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+  }
+
+  @Nonnull
+  @Override
+  public Future<Void> publish(@Nonnull final UserInvalidation invalidation) {
+    receive(invalidation);
+    pending.add(invalidation);
+
+    if (flushScheduled.compareAndSet(false, true)) {
+      vertx.setTimer(batchMillis, _ -> flush());
+    }
+
+    return Future.succeededFuture();
+  }
+
+  /** Sends every pending invalidation, completing once each peer has answered or failed. */
+  @Nonnull
+  private Future<Void> flush() {
+    flushScheduled.set(false);
+
+    final var sends = new ArrayList<Future<?>>();
+
+    while (true) {
+      final var batch = new JsonArray();
+      UserInvalidation invalidation;
+
+      while (batch.size() < MAX_BATCH_SIZE && (invalidation = pending.poll()) != null) {
+        batch.add(invalidation.toJson());
+      }
+
+      if (batch.isEmpty()) {
+        // Failed sends are logged; they do not fail the flush
+        return Future.join(sends).transform(_ -> Future.succeededFuture());
+      }
+
+      send(batch, sends);
+    }
+  }
+
+  private void send(@Nonnull final JsonArray batch, @Nonnull final List<Future<?>> sends) {
+    final var body = batch.toBuffer();
+
+    for (final var peer : peers) {
+      final var options =
+          new RequestOptions()
+              .setMethod(HttpMethod.POST)
+              .setHost(peer)
+              .setPort(peersPort)
+              .setURI(INVALIDATIONS_PATH)
+              .putHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+
+      sends.add(
+          client
+              .request(options)
+              .compose(request -> request.send(body))
+              .onFailure(
+                  exception ->
+                      log.warn(
+                          "Failed to send {} invalidations to {}", batch.size(), peer, exception)));
+    }
+  }
+
+  private void refreshPeers() {
+    vertx
+        .executeBlocking(
+            () ->
+                Arrays.stream(InetAddress.getAllByName(peersHost))
+                    .map(InetAddress::getHostAddress)
+                    .filter(address -> !address.equals(selfAddress))
+                    .toList(),
+            false)
+        .onSuccess(
+            resolved -> {
+              if (!resolved.equals(peers)) {
+                log.info("Cache invalidation peers: {}", resolved);
+              }
+              peers = resolved;
+            })
+        .onFailure(
+            exception -> log.warn("Failed to resolve cache invalidation peers {}", peersHost));
+  }
+}
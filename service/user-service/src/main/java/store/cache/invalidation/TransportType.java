@@ -0,0 +1,10 @@
+package store.cache.invalidation;
+
+/** Invalidation transport, selected by {@code cache.invalidation.transport}. */
+public enum TransportType {
+  /** In-memory delivery within this JVM. */
+  LOCAL,
+
+  /** HTTP fan-out to the pods behind the headless service. */
+  PEER
+}
@@ -0,0 +1,64 @@
+package store.cache.invalidation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Announces that user {@code id} was written at {@code version}; cached copies older than that
+ * version are stale. Deletes carry {@link #DELETED} so every cached copy is evicted.
+ *
+ * <p>An entry made by {@link #emailStored(String)} has no {@code id} and only tells peers that
+ * {@code email} is now taken, for their email filters.
+ */
+public record UserInvalidation(@Nullable String id, int version, @Nullable String email) {
+  public static final int DELETED = Integer.MAX_VALUE;
+
+  public UserInvalidation(@Nonnull final String id, final int version) {
+    this(id, version, null);
+  }
+
+  @Nonnull
+  public static UserInvalidation deleted(@Nonnull final String id) {
+    return new UserInvalidation(id, DELETED);
+  }
+
+  @Nonnull
+  public static UserInvalidation emailStored(@Nonnull final String email) {
+    return new UserInvalidation(null, 0, email);
+  }
+
+  /**
+   * Reads an invalidation sent by a peer. An entry needs either a string {@code id} and an integer
+   * {@code version}, or a string {@code email}; anything else fails with {@link
+   * IllegalArgumentException}.
+   */
+  @Nonnull
+  public static UserInvalidation fromJson(@Nonnull final JsonObject json) {
+    final var id = json.getValue("id");
+    final var version = json.getValue("version");
+    final var email = json.getValue("email");
+
+    if (id == null && version == null && email instanceof String address) {
+      return emailStored(address);
+    }
+
+    if (!(id instanceof String text) || !(version instanceof Integer number)) {
+      throw new IllegalArgumentException(
+          "Invalidation needs a string 'id' and an integer 'version', or a string 'email': "
+              + json.encode());
+    }
+
+    return new UserInvalidation(text, number);
+  }
+
+  @Nonnull
+  public JsonObject toJson() {
+    if (id == null) {
+      return new JsonObject().put("email", email);
+    }
+
+    return new JsonObject().put("id", id).put("version", version);
+  }
+}
@@ -0,0 +1,87 @@
+package admission;
+
+import com.google.common.truth.Truth;
+import org.junit.jupiter.api.Test;
+
+/** How {@link GradientLimit} moves per window; smoothing is off so each step lands exactly. */
+class GradientLimitTest {
+  private static final double LATENCY = 1_000_000;
+
+  @Test
+  void initialIsClampedToTheBounds() {
+    Truth.assertThat(new GradientLimit(100, 2, 10, 2, 1).limit()).isEqualTo(10);
+    Truth.assertThat(new GradientLimit(0, 2, 10, 2, 1).limit()).isEqualTo(2);
+    Truth.assertThat(new GradientLimit(5, 20, 10, 2, 1).limit()).isEqualTo(10);
+  }
+
+  @Test
+  void windowWithoutSamplesLeavesTheLimit() {
+    final var limit = new GradientLimit(16, 1, 100, 2, 1);
+
+    Truth.assertThat(limit.update(0, GradientLimit.Demand.MORE)).isEqualTo(16);
+    Truth.assertThat(limit.longLatency()).isEqualTo(0);
+  }
+
+  @Test
+  void moreGrowsBySquareRootAtSteadyLatency() {
+    final var limit = new GradientLimit(16, 1, 100, 2, 1);
+
+    Truth.assertThat(limit.update(LATENCY, GradientLimit.Demand.MORE)).isEqualTo(20);
+  }
+
+  @Test
+  void growthStopsAtMax() {
+    final var limit = new GradientLimit(16, 1, 18, 2, 1);
+
+    Truth.assertThat(limit.update(LATENCY, GradientLimit.Demand.MORE)).isEqualTo(18);
+    Truth.assertThat(limit.update(LATENCY, GradientLimit.Demand.MORE)).isEqualTo(18);
+  }
+
+  @Test
+  void enoughHoldsAtSteadyLatency() {
+    final var limit = new GradientLimit(16, 1, 100, 2, 1);
+
+    Truth.assertThat(limit.update(LATENCY, GradientLimit.Demand.ENOUGH)).isEqualTo(16);
+  }
+
+  @Test
+  void lessGivesBackOneSlotAtSteadyLatency() {
+    final var limit = new GradientLimit(16, 1, 100, 2, 1);
+
+    Truth.assertThat(limit.update(LATENCY, GradientLimit.Demand.LESS)).isEqualTo(15);
+  }
+
+  @Test
+  void risingLatencyShrinksWhateverTheDemand() {
+    // Ten times the long-run latency bottoms the gradient out at one half
+    Truth.assertThat(spike(GradientLimit.Demand.MORE)).isEqualTo(12);
+    Truth.assertThat(spike(GradientLimit.Demand.ENOUGH)).isEqualTo(12);
+    Truth.assertThat(spike(GradientLimit.Demand.LESS)).isEqualTo(8);
+  }
+
+  @Test
+  void shrinkStopsAtMin() {
+    final var limit = new GradientLimit(8, 5, 100, 2, 1);
+
+    Truth.assertThat(limit.update(LATENCY, GradientLimit.Demand.LESS)).isEqualTo(7);
+    Truth.assertThat(limit.update(LATENCY * 10, GradientLimit.Demand.LESS)).isEqualTo(5);
+  }
+
+  @Test
+  void idleFallsHalfwayToMinByAtLeastOneSlot() {
+    final var limit = new GradientLimit(16, 2, 100, 2, 1);
+
+    Truth.assertThat(limit.idle()).isEqualTo(9);
+    Truth.assertThat(limit.idle()).isEqualTo(5);
+    Truth.assertThat(limit.idle()).isEqualTo(3);
+    Truth.assertThat(limit.idle()).isEqualTo(2);
+    Truth.assertThat(limit.idle()).isEqualTo(2);
+  }
+
+  private static int spike(final GradientLimit.Demand demand) {
+    final var limit = new GradientLimit(16, 1, 100, 2, 1);
+
+    limit.update(LATENCY, GradientLimit.Demand.ENOUGH);
+    return limit.update(LATENCY * 10, demand);
+  }
+}
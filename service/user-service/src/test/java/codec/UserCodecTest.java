@@ -0,0 +1,59 @@
+package codec;
+
+import java.util.Date;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.truth.Truth;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+import store.entity.User;
+
+/** Local and wire deliveries of {@link User} through {@link UserCodec}. */
+class UserCodecTest {
+  private final UserCodec codec = new UserCodec();
+
+  @Test
+  void localDeliveryCopiesDates() {
+    final var user = user();
+    final var received = codec.transform(user);
+
+    received.created().setTime(0);
+
+    Truth.assertThat(received).isNotSameInstanceAs(user);
+    Truth.assertThat(user.created().getTime()).isEqualTo(1_000L);
+  }
+
+  @Test
+  void wireRoundTripsEveryField() {
+    final var buffer = Buffer.buffer("prefix");
+    final var user = user();
+
+    codec.encodeToWire(buffer, user);
+
+    Truth.assertThat(codec.decodeFromWire("prefix".length(), buffer)).isEqualTo(user);
+  }
+
+  @Test
+  void wireKeepsNulls() {
+    final var buffer = Buffer.buffer();
+    final var user = User.builder().id("id").version(1).build();
+
+    codec.encodeToWire(buffer, user);
+
+    Truth.assertThat(codec.decodeFromWire(0, buffer)).isEqualTo(user);
+  }
+
+  @Nonnull
+  private static User user() {
+    return User.builder()
+        .id("8f1c5c0e-8a40-4a39-9d2f-4d6f1f0e4b7a")
+        .email("codec@example.com")
+        .created(new Date(1_000L))
+        .lastModified(new Date(2_000L))
+        .createdBy("test")
+        .lastModifiedBy("test")
+        .version(3)
+        .build();
+  }
+}
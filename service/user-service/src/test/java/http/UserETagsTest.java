@@ -0,0 +1,47 @@
+package http;
+
+import java.util.Date;
+import java.util.UUID;
+
+import com.google.common.truth.Truth;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import store.entity.User;
+
+/** Round trip between {@link UserETags#etag} and the version read back from {@code If-Match}. */
+class UserETagsTest {
+  private static final String ID = UUID.randomUUID().toString();
+
+  @Test
+  void versionIsReadBackFromTheEntityTag() {
+    final var user =
+        User.builder().id(ID).email("user@example.com").created(new Date()).version(7).build();
+
+    Truth.assertThat(UserETags.version(UserETags.etag(user), ID)).isEqualTo(7);
+    Truth.assertThat(UserETags.version("  \"" + ID + ":12\" ", ID)).isEqualTo(12);
+  }
+
+  @Test
+  void tagForAnotherUserIsRejected() {
+    assertRejected("\"" + UUID.randomUUID() + ":1\"");
+  }
+
+  @Test
+  void malformedTagsAreRejected() {
+    assertRejected(ID + ":1");
+    assertRejected("W/\"" + ID + ":1\"");
+    assertRejected("\"" + ID + ":\"");
+    assertRejected("\"" + ID + ":one\"");
+    assertRejected("\"" + ID + ":1\", \"" + ID + ":2\"");
+  }
+
+  @Test
+  void onlyAStarMatchesAny() {
+    Truth.assertThat(UserETags.matchesAny(" * ")).isTrue();
+    Truth.assertThat(UserETags.matchesAny("\"" + ID + ":1\"")).isFalse();
+  }
+
+  private static void assertRejected(final String ifMatch) {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> UserETags.version(ifMatch, ID));
+  }
+}
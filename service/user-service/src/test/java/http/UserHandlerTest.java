@@ -0,0 +1,181 @@
+package http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.truth.Truth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import json.UserJsonWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.UserService;
+import store.EmailFilter;
+import store.InMemoryUserRepository;
+import store.cache.UserCache;
+import store.cache.invalidation.LocalInvalidationTransport;
+
+/** Status codes of the {@code /api/v1/users} routes, over HTTP against an in-memory store. */
+class UserHandlerTest {
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  private Vertx vertx;
+  private InMemoryUserRepository repository;
+  private URI users;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    vertx = Vertx.vertx();
+    repository = new InMemoryUserRepository();
+
+    final var config = new JsonObject().put("email-filter.enabled", false);
+    final var registry = new SimpleMeterRegistry();
+    final var writer = new UserJsonWriter();
+    // Disabled, so the filter never queries and every check falls through to the repository
+    final var emailFilter =
+        new EmailFilter(config, vertx, null, new LocalInvalidationTransport(), registry);
+    final var handler =
+        new UserHandler(
+            new UserService(repository, emailFilter),
+            new UserCache(config, registry, writer),
+            writer);
+    final var router = Router.router(vertx);
+
+    router.route(HttpRouterVerticle.USERS_PATH + "*").subRouter(handler.router(vertx));
+
+    final var server =
+        vertx
+            .createHttpServer()
+            .requestHandler(router)
+            .listen(0)
+            .toCompletionStage()
+            .toCompletableFuture()
+            .get(10, TimeUnit.SECONDS);
+
+    users = URI.create("http://localhost:" + server.actualPort() + HttpRouterVerticle.USERS_PATH);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void createWithTakenEmailConflicts() throws Exception {
+    final var body = new JsonObject().put("email", "taken@example.com").put("createdBy", "test");
+
+    Truth.assertThat(send("POST", users, body).statusCode()).isEqualTo(201);
+
+    final var duplicate = send("POST", users, body);
+
+    Truth.assertThat(duplicate.statusCode()).isEqualTo(409);
+    Truth.assertThat(new JsonObject(duplicate.body()).getString("error"))
+        .isEqualTo("Email is already taken");
+  }
+
+  @Test
+  void updateToTakenEmailConflicts() throws Exception {
+    repository.add("taken@example.com");
+    final var user = repository.add("free@example.com");
+    final var body =
+        new JsonObject().put("email", "taken@example.com").put("lastModifiedBy", "test");
+
+    final var response = send("PATCH", URI.create(users + "/" + user.id()), body);
+
+    Truth.assertThat(response.statusCode()).isEqualTo(409);
+  }
+
+  @Test
+  void nonIntegerVersionIsRejected() throws Exception {
+    final var user = repository.add("user@example.com");
+    final var body = new JsonObject().put("version", "1").put("lastModifiedBy", "test");
+
+    final var response = send("PATCH", URI.create(users + "/" + user.id()), body);
+
+    Truth.assertThat(response.statusCode()).isEqualTo(400);
+  }
+
+  @Test
+  void ifMatchAnyUpdatesWhicheverVersionIsCurrent() throws Exception {
+    final var user = repository.add("user@example.com");
+    final var body = new JsonObject().put("email", "new@example.com").put("lastModifiedBy", "test");
+
+    repository.bump(UUID.fromString(user.id()));
+
+    final var response =
+        send(request("PATCH", URI.create(users + "/" + user.id()), body).header("If-Match", "*"));
+
+    Truth.assertThat(response.statusCode()).isEqualTo(200);
+    Truth.assertThat(new JsonObject(response.body()).getString("email"))
+        .isEqualTo("new@example.com");
+  }
+
+  @Test
+  void ifMatchAnyOnMissingUserFailsThePrecondition() throws Exception {
+    final var body = new JsonObject().put("lastModifiedBy", "test");
+
+    final var response =
+        send(
+            request("PATCH", URI.create(users + "/" + UUID.randomUUID()), body)
+                .header("If-Match", "*"));
+
+    Truth.assertThat(response.statusCode()).isEqualTo(412);
+  }
+
+  @Test
+  void currentEntityTagIsAnsweredNotModified() throws Exception {
+    final var user = repository.add("user@example.com");
+    final var uri = URI.create(users + "/" + user.id());
+
+    final var response =
+        send(HttpRequest.newBuilder(uri).header("If-None-Match", UserETags.etag(user)));
+
+    Truth.assertThat(response.statusCode()).isEqualTo(304);
+    Truth.assertThat(response.body()).isEmpty();
+    Truth.assertThat(response.headers().firstValue("ETag")).hasValue(UserETags.etag(user));
+  }
+
+  @Test
+  void staleEntityTagGetsTheCurrentUser() throws Exception {
+    final var user = repository.add("user@example.com");
+    final var uri = URI.create(users + "/" + user.id());
+
+    repository.bump(UUID.fromString(user.id()));
+
+    final var response =
+        send(HttpRequest.newBuilder(uri).header("If-None-Match", UserETags.etag(user)));
+
+    Truth.assertThat(response.statusCode()).isEqualTo(200);
+    Truth.assertThat(response.headers().firstValue("ETag"))
+        .hasValue("\"" + user.id() + ":" + (user.version() + 1) + "\"");
+  }
+
+  @Nonnull
+  private HttpResponse<String> send(
+      @Nonnull final String method, @Nonnull final URI uri, @Nonnull final JsonObject body)
+      throws Exception {
+    return send(request(method, uri, body));
+  }
+
+  @Nonnull
+  private HttpResponse<String> send(@Nonnull final HttpRequest.Builder request) throws Exception {
+    return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  @Nonnull
+  private static HttpRequest.Builder request(
+      @Nonnull final String method, @Nonnull final URI uri, @Nonnull final JsonObject body) {
+    return HttpRequest.newBuilder(uri)
+        .method(method, HttpRequest.BodyPublishers.ofString(body.encode()))
+        .header("Content-Type", "application/json");
+  }
+}
@@ -0,0 +1,144 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.truth.Truth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import store.EmailFilter;
+import store.InMemoryUserRepository;
+import store.UserPatch;
+import store.cache.invalidation.LocalInvalidationTransport;
+import store.entity.User;
+
+/** Conditional updates of {@link UserService}: conflicts, and the bounded retry. */
+class UserServiceTest {
+  private static final UserPatch PATCH = new UserPatch("new@example.com");
+
+  private final ContendedUserRepository repository = new ContendedUserRepository();
+  // Disabled, so it needs neither Vert.x nor Gel
+  private final UserService service =
+      new UserService(
+          repository,
+          new EmailFilter(
+              new JsonObject().put("email-filter.enabled", false),
+              null,
+              null,
+              new LocalInvalidationTransport(),
+              new SimpleMeterRegistry()));
+
+  @Test
+  void updateAtCurrentVersionApplies() throws Exception {
+    final var user = repository.add("user@example.com");
+
+    final var updated = await(service.update(user.id(), 1, PATCH, "test"));
+
+    Truth.assertThat(updated.version()).isEqualTo(2);
+    Truth.assertThat(updated.email()).isEqualTo("new@example.com");
+    Truth.assertThat(updated.lastModifiedBy()).isEqualTo("test");
+  }
+
+  @Test
+  void updateAtStaleVersionConflicts() {
+    final var user = repository.add("user@example.com");
+
+    repository.bump(UUID.fromString(user.id()));
+
+    final var failure = awaitFailure(service.update(user.id(), 1, PATCH, "test"));
+
+    Truth.assertThat(failure).isInstanceOf(VersionConflictException.class);
+    Truth.assertThat(failure).hasMessageThat().contains("at version 2, not 1");
+  }
+
+  @Test
+  void updateOfMissingUserCompletesWithNull() throws Exception {
+    Truth.assertThat(await(service.update(UUID.randomUUID().toString(), 1, PATCH, "test")))
+        .isNull();
+  }
+
+  @Test
+  void updateWithMalformedIdFails() {
+    Truth.assertThat(awaitFailure(service.update("not-a-uuid", 1, PATCH, "test")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void retryStartsOverFromEachConcurrentWrite() throws Exception {
+    final var user = repository.add("user@example.com");
+    final var seen = new ArrayList<Integer>();
+
+    repository.contended = 2;
+
+    final var updated =
+        await(
+            service.updateWithRetry(
+                user.id(),
+                current -> {
+                  seen.add(current.version());
+                  return PATCH;
+                },
+                "test",
+                3));
+
+    Truth.assertThat(seen).containsExactly(1, 2, 3).inOrder();
+    Truth.assertThat(updated.version()).isEqualTo(4);
+    Truth.assertThat(repository.updateCalls.get()).isEqualTo(3);
+  }
+
+  @Test
+  void retryGivesUpAfterMaxAttempts() {
+    final var user = repository.add("user@example.com");
+
+    repository.contended = Integer.MAX_VALUE;
+
+    final var failure = awaitFailure(service.updateWithRetry(user.id(), _ -> PATCH, "test", 3));
+
+    Truth.assertThat(failure).isInstanceOf(VersionConflictException.class);
+    Truth.assertThat(repository.updateCalls.get()).isEqualTo(3);
+  }
+
+  @Test
+  void retryOfMissingUserCompletesWithNull() throws Exception {
+    Truth.assertThat(
+            await(service.updateWithRetry(UUID.randomUUID().toString(), _ -> PATCH, "test", 3)))
+        .isNull();
+    Truth.assertThat(repository.updateCalls.get()).isEqualTo(0);
+  }
+
+  private static <T> T await(@Nonnull final Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Nonnull
+  private static Throwable awaitFailure(@Nonnull final Future<?> future) {
+    return Assertions.assertThrows(ExecutionException.class, () -> await(future)).getCause();
+  }
+
+  /** Lets another writer in just before each of the next {@code contended} updates. */
+  private static final class ContendedUserRepository extends InMemoryUserRepository {
+    private int contended;
+
+    @Nonnull
+    @Override
+    public synchronized Future<User> updateIfVersion(
+        @Nonnull final UUID id,
+        final int version,
+        @Nonnull final UserPatch patch,
+        @Nonnull final String modifiedBy) {
+      if (contended > 0) {
+        contended--;
+        bump(id);
+      }
+
+      return super.updateIfVersion(id, version, patch, modifiedBy);
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.truth.Truth;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Slot hand-off and idle decay of {@link AdaptiveGelQueryClient}. */
+class AdaptiveGelQueryClientTest {
+  private static final JsonObject CONFIG =
+      new JsonObject().put("gel.pool.window-millis", 10).put("gel.pool.target-wait-millis", 0);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final HeldQueryClient delegate = new HeldQueryClient();
+
+  private Vertx vertx;
+
+  @BeforeEach
+  void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void longQueueOfInstantQueriesDoesNotRecurse() throws Exception {
+    final var client = new AdaptiveGelQueryClient("test", delegate, 1, 1, CONFIG, vertx, registry);
+    final var first = client.execute("held", Map.of());
+    final var queued = new ArrayList<CompletableFuture<Void>>();
+
+    for (var i = 0; i < 50_000; i++) {
+      queued.add(client.execute("instant", Map.of()).toCompletableFuture());
+    }
+
+    delegate.releaseAll();
+
+    first.toCompletableFuture().get(10, TimeUnit.SECONDS);
+    CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void idlePoolFallsBackToItsMinimum() throws Exception {
+    final var client = new AdaptiveGelQueryClient("test", delegate, 1, 16, CONFIG, vertx, registry);
+    final var gauge = registry.get("gel.pool.limit").gauge();
+    final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+    // A backlog that keeps waiting for slots, and completing, grows the limit
+    while (gauge.value() <= 4 && System.nanoTime() < deadline) {
+      for (var i = 0; i < 16; i++) {
+        client.execute("held", Map.of());
+      }
+
+      Thread.sleep(5);
+      delegate.releaseAll();
+    }
+
+    Truth.assertThat(gauge.value()).isGreaterThan(4.0);
+
+    // Let the backlog drain; everything started from here on completes at once
+    delegate.holding = false;
+    delegate.releaseAll();
+
+    awaitLimit(limit -> limit == 1);
+  }
+
+  private void awaitLimit(@Nonnull final IntPredicate expected) throws InterruptedException {
+    final var gauge = registry.get("gel.pool.limit").gauge();
+    final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+    while (!expected.test((int) gauge.value()) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    Truth.assertWithMessage("gel.pool.limit").that(expected.test((int) gauge.value())).isTrue();
+  }
+
+  /** Holds {@code held} queries until released; every other query completes at once. */
+  private static final class HeldQueryClient implements GelQueryClient {
+    private final List<CompletableFuture<Void>> held = new ArrayList<>();
+    private volatile boolean holding = true;
+
+    void releaseAll() {
+      final List<CompletableFuture<Void>> released;
+
+      synchronized (this) {
+        released = List.copyOf(held);
+        held.clear();
+      }
+
+      released.forEach(future -> future.complete(null));
+    }
+
+    @Nonnull
+    @Override
+    public <T> CompletionStage<List<T>> query(
+        @Nonnull final Class<T> type,
+        @Nonnull final String query,
+        @Nonnull final Map<String, Object> args) {
+      return CompletableFuture.completedFuture(List.of());
+    }
+
+    @Nonnull
+    @Override
+    public <T> CompletionStage<T> querySingle(
+        @Nonnull final Class<T> type,
+        @Nonnull final String query,
+        @Nonnull final Map<String, Object> args) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Nonnull
+    @Override
+    public <T> CompletionStage<T> queryRequiredSingle(
+        @Nonnull final Class<T> type,
+        @Nonnull final String query,
+        @Nonnull final Map<String, Object> args) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Nonnull
+    @Override
+    public synchronized CompletionStage<Void> execute(
+        @Nonnull final String query, @Nonnull final Map<String, Object> args) {
+      if (!holding || !query.equals("held")) {
+        return CompletableFuture.completedFuture(null);
+      }
+
+      final var future = new CompletableFuture<Void>();
+      held.add(future);
+      return future;
+    }
+
+    @Override
+    public int connectionCount() {
+      return 0;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
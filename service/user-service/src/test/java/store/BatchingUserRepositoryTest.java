@@ -0,0 +1,147 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.truth.Truth;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import store.entity.User;
+
+/** How {@link BatchingUserRepository} groups id lookups and hands each caller its user. */
+class BatchingUserRepositoryTest {
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final InMemoryUserRepository delegate = new InMemoryUserRepository();
+
+  private Vertx vertx;
+
+  @BeforeEach
+  void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void lookupsInOneTaskShareOneQuery() throws Exception {
+    final var user = delegate.add("user@example.com");
+    final var other = delegate.add("other@example.com");
+    final var ids =
+        List.of(
+            UUID.fromString(user.id()),
+            UUID.fromString(other.id()),
+            UUID.fromString(user.id()),
+            UUID.randomUUID());
+
+    final var found = findAllOnContext(new BatchingUserRepository(delegate, 100, 0, registry), ids);
+
+    Truth.assertThat(found).containsExactly(user, other, user, null).inOrder();
+    Truth.assertThat(delegate.findAllByIdCalls.get()).isEqualTo(1);
+    Truth.assertThat(delegate.findByIdCalls.get()).isEqualTo(0);
+    // The repeated id is loaded once
+    Truth.assertThat(batchSizes().totalAmount()).isEqualTo(3.0);
+  }
+
+  @Test
+  void fullBatchIsDispatchedWithoutWaiting() throws Exception {
+    final var users = List.of(delegate.add("a@example.com"), delegate.add("b@example.com"));
+    final var ids = users.stream().map(user -> UUID.fromString(user.id())).toList();
+
+    // A window far longer than the test, so only the size limit can dispatch
+    final var found =
+        findAllOnContext(new BatchingUserRepository(delegate, 2, 60_000, registry), ids);
+
+    Truth.assertThat(found).containsExactlyElementsIn(users).inOrder();
+    Truth.assertThat(batchSizes().count()).isEqualTo(1);
+  }
+
+  @Test
+  void batchOverTheLimitIsSplit() throws Exception {
+    final var ids = new ArrayList<UUID>();
+
+    for (var i = 0; i < 5; i++) {
+      ids.add(UUID.fromString(delegate.add(i + "@example.com").id()));
+    }
+
+    findAllOnContext(new BatchingUserRepository(delegate, 2, 0, registry), ids);
+
+    Truth.assertThat(delegate.findAllByIdCalls.get()).isEqualTo(3);
+    Truth.assertThat(batchSizes().max()).isEqualTo(2.0);
+  }
+
+  @Test
+  void lookupOffContextGoesStraightThrough() throws Exception {
+    final var user = delegate.add("user@example.com");
+    final var repository = new BatchingUserRepository(delegate, 100, 0, registry);
+
+    Truth.assertThat(await(repository.findById(UUID.fromString(user.id())))).isEqualTo(user);
+    Truth.assertThat(delegate.findByIdCalls.get()).isEqualTo(1);
+    Truth.assertThat(delegate.findAllByIdCalls.get()).isEqualTo(0);
+  }
+
+  @Test
+  void failedQueryFailsEveryCaller() {
+    final var failing =
+        new InMemoryUserRepository() {
+          @Nonnull
+          @Override
+          public Future<List<User>> findAllById(@Nonnull final Collection<UUID> ids) {
+            return Future.failedFuture(new IllegalStateException("Gel is down"));
+          }
+        };
+    final var repository = new BatchingUserRepository(failing, 100, 0, registry);
+    final var ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+    final var failure =
+        Assertions.assertThrows(ExecutionException.class, () -> findAllOnContext(repository, ids));
+
+    Truth.assertThat(failure).hasCauseThat().hasMessageThat().isEqualTo("Gel is down");
+  }
+
+  /** Looks up every id within one event-loop task, as concurrent requests on one loop would. */
+  @Nonnull
+  private List<User> findAllOnContext(
+      @Nonnull final BatchingUserRepository repository, @Nonnull final List<UUID> ids)
+      throws Exception {
+    final var done = new CompletableFuture<List<User>>();
+
+    vertx
+        .getOrCreateContext()
+        .runOnContext(
+            _ -> {
+              final var lookups = ids.stream().map(repository::findById).toList();
+
+              Future.all(lookups)
+                  .map(all -> all.<User>list())
+                  .onComplete(done::complete, done::completeExceptionally);
+            });
+
+    return done.get(10, TimeUnit.SECONDS);
+  }
+
+  @Nonnull
+  private DistributionSummary batchSizes() {
+    return registry.get("user.lookups.batch.size").summary();
+  }
+
+  private static <T> T await(@Nonnull final Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,162 @@
+package store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.truth.Truth;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import store.entity.User;
+
+/** Which lookups {@link CoalescingUserRepository} shares, and how their result fans out. */
+class CoalescingUserRepositoryTest {
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final HeldUserRepository delegate = new HeldUserRepository();
+
+  private Vertx vertx;
+  private CoalescingUserRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    vertx = Vertx.vertx();
+    repository = new CoalescingUserRepository(vertx, delegate, registry);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void concurrentLookupsOfOneIdShareAQuery() throws Exception {
+    final var user = delegate.add("user@example.com");
+    final var other = delegate.add("other@example.com");
+    final var id = UUID.fromString(user.id());
+
+    final var first = repository.findById(id);
+    final var second = repository.findById(id);
+    final var third = repository.findById(id);
+    final var unrelated = repository.findById(UUID.fromString(other.id()));
+
+    Truth.assertThat(delegate.held).hasSize(2);
+
+    delegate.release();
+
+    Truth.assertThat(await(first)).isEqualTo(user);
+    Truth.assertThat(await(second)).isEqualTo(user);
+    Truth.assertThat(await(third)).isEqualTo(user);
+    Truth.assertThat(await(unrelated)).isEqualTo(other);
+    Truth.assertThat(registry.get("user.lookups.coalesced").counter().count()).isEqualTo(2.0);
+  }
+
+  @Test
+  void concurrentLookupsOfOneEmailShareAQuery() throws Exception {
+    final var user = delegate.add("user@example.com");
+
+    final var first = repository.findByEmail(user.email());
+    final var second = repository.findByEmail(user.email());
+
+    Truth.assertThat(delegate.held).hasSize(1);
+
+    delegate.release();
+
+    Truth.assertThat(await(first)).isEqualTo(user);
+    Truth.assertThat(await(second)).isEqualTo(user);
+  }
+
+  @Test
+  void completedLookupIsNotReused() throws Exception {
+    final var user = delegate.add("user@example.com");
+    final var id = UUID.fromString(user.id());
+
+    final var first = repository.findById(id);
+    delegate.release();
+    await(first);
+
+    final var second = repository.findById(id);
+
+    Truth.assertThat(delegate.held).hasSize(1);
+
+    delegate.release();
+
+    Truth.assertThat(await(second)).isEqualTo(user);
+    Truth.assertThat(delegate.findByIdCalls.get()).isEqualTo(2);
+  }
+
+  @Test
+  void failureReachesEveryCaller() {
+    final var id = UUID.randomUUID();
+
+    final var first = repository.findById(id);
+    final var second = repository.findById(id);
+
+    delegate.fail(new IllegalStateException("Gel is down"));
+
+    Truth.assertThat(awaitFailure(first)).hasMessageThat().contains("Gel is down");
+    Truth.assertThat(awaitFailure(second)).hasMessageThat().contains("Gel is down");
+  }
+
+  private static <T> T await(@Nonnull final Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Nonnull
+  private static Throwable awaitFailure(@Nonnull final Future<?> future) {
+    try {
+      await(future);
+    } catch (final Exception exception) {
+      return exception;
+    }
+
+    throw new AssertionError("Expected the lookup to fail");
+  }
+
+  /** Holds lookups until released, so callers can overlap with one in flight. */
+  private static final class HeldUserRepository extends InMemoryUserRepository {
+    private final List<Promise<Void>> held = new ArrayList<>();
+
+    @Nonnull
+    @Override
+    public Future<User> findById(@Nonnull final UUID id) {
+      return hold().compose(_ -> super.findById(id));
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> findByEmail(@Nonnull final String email) {
+      return hold().compose(_ -> super.findByEmail(email));
+    }
+
+    void release() {
+      final var released = new ArrayList<>(held);
+
+      held.clear();
+      released.forEach(Promise::complete);
+    }
+
+    void fail(@Nonnull final Throwable failure) {
+      final var released = new ArrayList<>(held);
+
+      held.clear();
+      released.forEach(promise -> promise.fail(failure));
+    }
+
+    @Nonnull
+    private Future<Void> hold() {
+      final Promise<Void> promise = Promise.promise();
+
+      held.add(promise);
+      return promise.future();
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package store;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.truth.Truth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+/** What {@link GelQueryMetrics#totals()} counts as load. */
+class GelQueryMetricsTest {
+  private final GelQueryMetrics metrics = new GelQueryMetrics(new SimpleMeterRegistry());
+
+  @Test
+  void totalsLeaveOutPings() {
+    metrics.time(QueryShapes.PING, () -> CompletableFuture.completedFuture(1L));
+    metrics.time(QueryShapes.SELECT_BY_ID, () -> CompletableFuture.completedFuture(null));
+    metrics.time(QueryShapes.DELETE, () -> CompletableFuture.completedFuture(true));
+
+    Truth.assertThat(metrics.totals().count()).isEqualTo(2);
+    Truth.assertThat(metrics.inFlight()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,186 @@
+package store;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.vertx.core.Future;
+import store.entity.User;
+
+/**
+ * Map-backed {@link UserRepository} for tests, enforcing the exclusive email constraint and the
+ * version check of {@link #updateIfVersion}. Counts the lookups that reach it.
+ */
+public class InMemoryUserRepository implements UserRepository {
+  private final Map<UUID, User> users = new ConcurrentHashMap<>();
+
+  public final AtomicInteger findByIdCalls = new AtomicInteger();
+  public final AtomicInteger findAllByIdCalls = new AtomicInteger();
+  public final AtomicInteger findByEmailCalls = new AtomicInteger();
+  public final AtomicInteger updateCalls = new AtomicInteger();
+
+  /** Stores {@code email} directly, as if another writer had inserted it. */
+  @Nonnull
+  public User add(@Nonnull final String email) {
+    final var now = new Date();
+    final var user =
+        User.builder()
+            .id(UUID.randomUUID().toString())
+            .email(email)
+            .created(now)
+            .lastModified(now)
+            .createdBy("test")
+            .lastModifiedBy("test")
+            .version(1)
+            .build();
+
+    users.put(UUID.fromString(user.id()), user);
+    return user;
+  }
+
+  /** Moves {@code id} to the next version, as if another writer had updated it. */
+  public void bump(@Nonnull final UUID id) {
+    users.computeIfPresent(
+        id, (_, user) -> copy(user, user.email(), user.lastModifiedBy(), user.version() + 1));
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findById(@Nonnull final UUID id) {
+    findByIdCalls.incrementAndGet();
+    return Future.succeededFuture(users.get(id));
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByIdForUpdate(@Nonnull final UUID id) {
+    return Future.succeededFuture(users.get(id));
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findAllById(@Nonnull final Collection<UUID> ids) {
+    findAllByIdCalls.incrementAndGet();
+    return Future.succeededFuture(ids.stream().map(users::get).filter(Objects::nonNull).toList());
+  }
+
+  @Nonnull
+  @Override
+  public Future<List<User>> findPage(@Nullable final User after, final int limit) {
+    final Comparator<User> order = Comparator.comparing(User::created).thenComparing(User::id);
+
+    return Future.succeededFuture(
+        users.values().stream()
+            .filter(user -> after == null || order.compare(user, after) > 0)
+            .sorted(order)
+            .limit(limit)
+            .toList());
+  }
+
+  @Nonnull
+  @Override
+  public Future<User> findByEmail(@Nonnull final String email) {
+    findByEmailCalls.incrementAndGet();
+    return Future.succeededFuture(byEmail(email));
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Future<User> insert(
+      @Nonnull final String email, @Nonnull final String createdBy) {
+    if (byEmail(email) != null) {
+      return duplicate(email);
+    }
+
+    return Future.succeededFuture(add(email));
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Future<User> updateIfVersion(
+      @Nonnull final UUID id,
+      final int version,
+      @Nonnull final UserPatch patch,
+      @Nonnull final String modifiedBy) {
+    updateCalls.incrementAndGet();
+
+    final var current = users.get(id);
+
+    if (current == null || current.version() != version) {
+      return Future.succeededFuture();
+    }
+
+    final var owner = patch.email() == null ? null : byEmail(patch.email());
+
+    if (owner != null && !owner.id().equals(current.id())) {
+      return duplicate(patch.email());
+    }
+
+    final var email = patch.email() == null ? current.email() : patch.email();
+    final var updated = copy(current, email, modifiedBy, version + 1);
+
+    users.put(id, updated);
+    return Future.succeededFuture(updated);
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Future<Long> insertAll(@Nonnull final List<NewUser> newUsers) {
+    for (final var user : newUsers) {
+      if (byEmail(user.email()) != null) {
+        return duplicate(user.email());
+      }
+    }
+
+    newUsers.forEach(user -> add(user.email()));
+    return Future.succeededFuture((long) newUsers.size());
+  }
+
+  @Nonnull
+  @Override
+  public Future<Boolean> delete(@Nonnull final UUID id) {
+    return Future.succeededFuture(users.remove(id) != null);
+  }
+
+  @Nullable
+  private User byEmail(@Nonnull final String email) {
+    return users.values().stream()
+        .filter(user -> user.email().equals(email))
+        .findFirst()
+        .orElse(null);
+  }
+
+  @Nonnull
+  private static User copy(
+      @Nonnull final User user,
+      @Nonnull final String email,
+      @Nonnull final String modifiedBy,
+      final int version) {
+    return User.builder()
+        .id(user.id())
+        .email(email)
+        .created(user.created())
+        .lastModified(new Date())
+        .createdBy(user.createdBy())
+        .lastModifiedBy(modifiedBy)
+        .version(version)
+        .build();
+  }
+
+  @Nonnull
+  private static <T> Future<T> duplicate(@Nonnull final String email) {
+    return Future.failedFuture(
+        new DuplicateEmailException(
+            "Email is already taken",
+            new IllegalStateException(email + " violates exclusivity constraint")));
+  }
+}
@@ -0,0 +1,89 @@
+package store;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.common.truth.Truth;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/** Argument checks of {@link QueryShape}, and that the declared shapes pass their own. */
+class QueryShapeTest {
+  private static final QueryShape<Long> SHAPE =
+      new QueryShape<>(
+          "test",
+          GelRole.READ,
+          QueryShape.Cardinality.ONE,
+          Long.class,
+          "select 1",
+          List.of(
+              QueryShape.Param.required("id", UUID.class),
+              QueryShape.Param.optional("email", String.class)),
+          null);
+
+  @Test
+  void acceptsDeclaredArguments() {
+    SHAPE.check(Map.of("id", UUID.randomUUID(), "email", "user@example.com"));
+  }
+
+  @Test
+  void acceptsNullForAnOptionalParameter() {
+    final var args = new HashMap<String, Object>();
+    args.put("id", UUID.randomUUID());
+    args.put("email", null);
+
+    SHAPE.check(args);
+  }
+
+  @Test
+  void rejectsAMissingOptionalParameter() {
+    assertRejected(Map.of("id", UUID.randomUUID()));
+  }
+
+  @Test
+  void rejectsNullForARequiredParameter() {
+    final var args = new HashMap<String, Object>();
+    args.put("id", null);
+    args.put("email", "user@example.com");
+
+    assertRejected(args);
+  }
+
+  @Test
+  void rejectsAMistypedArgument() {
+    assertRejected(Map.of("id", UUID.randomUUID().toString(), "email", "user@example.com"));
+  }
+
+  @Test
+  void rejectsAnUndeclaredArgument() {
+    assertRejected(Map.of("id", UUID.randomUUID(), "name", "user@example.com"));
+    assertRejected(Map.of("id", UUID.randomUUID(), "email", "", "name", ""));
+  }
+
+  @Test
+  void warmUpArgumentsMatchTheirShapes() {
+    for (final var shape : QueryShapes.ALL) {
+      if (shape.warmUpArgs() != null) {
+        shape.check(shape.warmUpArgs());
+      }
+    }
+  }
+
+  @Test
+  void updateArgumentsMatchTheirShape() {
+    final var id = UUID.randomUUID();
+
+    QueryShapes.UPDATE_IF_VERSION.check(
+        UserQueries.updateArgs(id, 1, new UserPatch("user@example.com"), "test"));
+    QueryShapes.UPDATE_IF_VERSION.check(UserQueries.updateArgs(id, 1, new UserPatch(null), "test"));
+  }
+
+  private static void assertRejected(final Map<String, Object> args) {
+    final var failure =
+        Assertions.assertThrows(IllegalStateException.class, () -> SHAPE.check(args));
+
+    Truth.assertThat(failure).hasMessageThat().contains("Query test");
+  }
+}
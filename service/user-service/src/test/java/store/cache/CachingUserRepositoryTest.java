@@ -0,0 +1,107 @@
+package store.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.truth.Truth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import json.UserJsonWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import store.InMemoryUserRepository;
+import store.UserPatch;
+import store.cache.invalidation.LocalInvalidationTransport;
+import store.cache.invalidation.UserInvalidation;
+
+/** Read-through and write-through behaviour of {@link CachingUserRepository}. */
+class CachingUserRepositoryTest {
+  private final InMemoryUserRepository delegate = new InMemoryUserRepository();
+  private final List<UserInvalidation> published = new ArrayList<>();
+
+  private UserCache cache;
+  private CachingUserRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    final var transport = new LocalInvalidationTransport();
+
+    cache = new UserCache(new JsonObject(), new SimpleMeterRegistry(), new UserJsonWriter());
+    repository = new CachingUserRepository(delegate, cache, transport);
+    transport.subscribe(published::add);
+  }
+
+  @Test
+  void repeatReadsAreServedFromTheCache() throws Exception {
+    final var user = delegate.add("user@example.com");
+    final var id = UUID.fromString(user.id());
+
+    Truth.assertThat(await(repository.findById(id))).isEqualTo(user);
+    Truth.assertThat(await(repository.findById(id))).isEqualTo(user);
+    Truth.assertThat(await(repository.findByEmail(user.email()))).isEqualTo(user);
+
+    Truth.assertThat(delegate.findByIdCalls.get()).isEqualTo(1);
+    Truth.assertThat(delegate.findByEmailCalls.get()).isEqualTo(0);
+  }
+
+  @Test
+  void missesAreNotCached() throws Exception {
+    final var id = UUID.randomUUID();
+
+    Truth.assertThat(await(repository.findById(id))).isNull();
+    Truth.assertThat(await(repository.findById(id))).isNull();
+
+    Truth.assertThat(delegate.findByIdCalls.get()).isEqualTo(2);
+  }
+
+  @Test
+  void updateRefreshesTheCacheAndIsPublished() throws Exception {
+    final var user = delegate.add("user@example.com");
+    final var id = UUID.fromString(user.id());
+
+    await(repository.findById(id));
+
+    final var updated =
+        await(repository.updateIfVersion(id, 1, new UserPatch("new@example.com"), "test"));
+
+    Truth.assertThat(cache.getById(user.id())).isEqualTo(updated);
+    Truth.assertThat(cache.getByEmail("new@example.com")).isEqualTo(updated);
+    Truth.assertThat(published).containsExactly(new UserInvalidation(user.id(), 2));
+  }
+
+  @Test
+  void staleUpdateEvictsTheCachedCopy() throws Exception {
+    final var user = delegate.add("user@example.com");
+    final var id = UUID.fromString(user.id());
+
+    await(repository.findById(id));
+    delegate.bump(id);
+
+    Truth.assertThat(await(repository.updateIfVersion(id, 1, new UserPatch(null), "test")))
+        .isNull();
+    Truth.assertThat(cache.getById(user.id())).isNull();
+    Truth.assertThat(await(repository.findById(id)).version()).isEqualTo(2);
+    Truth.assertThat(published).isEmpty();
+  }
+
+  @Test
+  void deleteEvictsAndIsPublished() throws Exception {
+    final var user = delegate.add("user@example.com");
+    final var id = UUID.fromString(user.id());
+
+    await(repository.findById(id));
+
+    Truth.assertThat(await(repository.delete(id))).isTrue();
+    Truth.assertThat(cache.getById(user.id())).isNull();
+    Truth.assertThat(published).containsExactly(UserInvalidation.deleted(user.id()));
+  }
+
+  private static <T> T await(@Nonnull final Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+}
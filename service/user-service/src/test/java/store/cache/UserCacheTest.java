@@ -0,0 +1,234 @@
+package store.cache;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.truth.Truth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import json.UserJsonWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import store.NewUser;
+import store.UserPatch;
+import store.UserRepository;
+import store.cache.invalidation.LocalInvalidationTransport;
+import store.cache.invalidation.UserInvalidation;
+import store.entity.User;
+
+/** Version and floor rules of {@link UserCache}, driven through the local transport. */
+class UserCacheTest {
+  private static final String ID = UUID.randomUUID().toString();
+
+  private UserCache cache;
+  private LocalInvalidationTransport transport;
+
+  @BeforeEach
+  void setUp() {
+    cache = new UserCache(new JsonObject(), new SimpleMeterRegistry(), new UserJsonWriter());
+    transport = new LocalInvalidationTransport();
+
+    // Subscribes the cache to the transport, as in the service
+    new CachingUserRepository(new EmptyUserRepository(), cache, transport);
+  }
+
+  @Test
+  void invalidationEvictsOlderCopy() {
+    cache.put(user(1));
+    transport.publish(new UserInvalidation(ID, 2));
+
+    Truth.assertThat(cache.getById(ID)).isNull();
+  }
+
+  @Test
+  void invalidationKeepsCopyAtThatVersion() {
+    cache.put(user(2));
+    transport.publish(new UserInvalidation(ID, 2));
+
+    Truth.assertThat(cache.getById(ID).version()).isEqualTo(2);
+  }
+
+  @Test
+  void floorRejectsStaleReadCompletingAfterInvalidation() {
+    transport.publish(new UserInvalidation(ID, 2));
+    cache.put(user(1));
+
+    Truth.assertThat(cache.getById(ID)).isNull();
+
+    cache.put(user(2));
+
+    Truth.assertThat(cache.getById(ID).version()).isEqualTo(2);
+  }
+
+  @Test
+  void floorHoldsWhenInvalidationRacesPut() throws Exception {
+    final var executor = Executors.newFixedThreadPool(2);
+
+    try {
+      for (var i = 0; i < 1000; i++) {
+        final var id = UUID.randomUUID().toString();
+        final var start = new CountDownLatch(1);
+        final var put =
+            executor.submit(
+                () -> {
+                  start.await();
+                  cache.put(user(id, 1));
+                  return null;
+                });
+        final var invalidate =
+            executor.submit(
+                () -> {
+                  start.await();
+                  transport.publish(new UserInvalidation(id, 2));
+                  return null;
+                });
+
+        start.countDown();
+        put.get();
+        invalidate.get();
+
+        Truth.assertThat(cache.getById(id)).isNull();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void putNeverReplacesNewerCopy() {
+    cache.put(user(3));
+    cache.put(user(2));
+
+    Truth.assertThat(cache.getById(ID).version()).isEqualTo(3);
+    Truth.assertThat(cache.getByEmail("v3@example.com").version()).isEqualTo(3);
+  }
+
+  @Test
+  void deleteRejectsEveryLaterPut() {
+    cache.put(user(4));
+    transport.publish(UserInvalidation.deleted(ID));
+    cache.put(user(5));
+
+    Truth.assertThat(cache.getById(ID)).isNull();
+  }
+
+  @Test
+  void peerInvalidationRoundTripsThroughJson() {
+    final var invalidation = new UserInvalidation(ID, 7);
+
+    Truth.assertThat(UserInvalidation.fromJson(invalidation.toJson())).isEqualTo(invalidation);
+  }
+
+  @Test
+  void peerInvalidationWithoutVersionIsRejected() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> UserInvalidation.fromJson(new JsonObject().put("id", ID)));
+  }
+
+  @Test
+  void storedEmailLeavesCacheAlone() {
+    cache.put(user(1));
+    transport.publish(UserInvalidation.emailStored("new@example.com"));
+
+    Truth.assertThat(cache.getById(ID).version()).isEqualTo(1);
+  }
+
+  @Test
+  void storedEmailRoundTripsThroughJson() {
+    final var invalidation = UserInvalidation.emailStored("new@example.com");
+
+    Truth.assertThat(invalidation.toJson().fieldNames()).containsExactly("email");
+    Truth.assertThat(UserInvalidation.fromJson(invalidation.toJson())).isEqualTo(invalidation);
+  }
+
+  @Nonnull
+  private static User user(final int version) {
+    return user(ID, version);
+  }
+
+  @Nonnull
+  private static User user(@Nonnull final String id, final int version) {
+    final var now = new Date();
+
+    return User.builder()
+        .id(id)
+        .email("v" + version + "@example.com")
+        .created(now)
+        .lastModified(now)
+        .createdBy("test")
+        .lastModifiedBy("test")
+        .version(version)
+        .build();
+  }
+
+  /** Backing store with no users; these tests only exercise the cache. */
+  private static final class EmptyUserRepository implements UserRepository {
+    @Nonnull
+    @Override
+    public Future<User> findById(@Nonnull final UUID id) {
+      return Future.succeededFuture();
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> findByIdForUpdate(@Nonnull final UUID id) {
+      return Future.succeededFuture();
+    }
+
+    @Nonnull
+    @Override
+    public Future<List<User>> findAllById(@Nonnull final Collection<UUID> ids) {
+      return Future.succeededFuture(List.of());
+    }
+
+    @Nonnull
+    @Override
+    public Future<List<User>> findPage(@Nullable final User after, final int limit) {
+      return Future.succeededFuture(List.of());
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> findByEmail(@Nonnull final String email) {
+      return Future.succeededFuture();
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> insert(@Nonnull final String email, @Nonnull final String createdBy) {
+      return Future.succeededFuture();
+    }
+
+    @Nonnull
+    @Override
+    public Future<User> updateIfVersion(
+        @Nonnull final UUID id,
+        final int version,
+        @Nonnull final UserPatch patch,
+        @Nonnull final String modifiedBy) {
+      return Future.succeededFuture();
+    }
+
+    @Nonnull
+    @Override
+    public Future<Long> insertAll(@Nonnull final List<NewUser> users) {
+      return Future.succeededFuture(0L);
+    }
+
+    @Nonnull
+    @Override
+    public Future<Boolean> delete(@Nonnull final UUID id) {
+      return Future.succeededFuture(false);
+    }
+  }
+}